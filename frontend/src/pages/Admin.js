@@ -1,7 +1,8 @@
-import React, { useState } from "react";
+import React, { useEffect, useRef, useState } from "react";
 import axios from "axios";
 import LogoutButton from "../pages/LogoutButton";
 import AuthCheck from "../utils/AuthCheck";
+import subscribeToEmployeeChanges from "../utils/employeeChanges";
 
 const Admin = () => {
   AuthCheck("ADMIN");
@@ -16,9 +17,39 @@ const Admin = () => {
   });
   const [employeeId, setEmployeeId] = useState("");
   const [employees, setEmployees] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [searchQuery, setSearchQuery] = useState("");
   const [message, setMessage] = useState("");
   const [errors, setErrors] = useState({});
 
+  // Read by the change feed handler without resubscribing on every keystroke or page
+  const listState = useRef({ nextCursor: null, searchQuery: "" });
+  listState.current = { nextCursor, searchQuery };
+
+  // While the list is shown, apply pushed changes instead of refetching it
+  useEffect(() => {
+    if (action !== "getAll") return undefined;
+    return subscribeToEmployeeChanges((type, changed) => {
+      if (type === "reset") {
+        setMessage("The employee list changed; reload it to see every change");
+        return;
+      }
+      setEmployees((current) => {
+        if (type === "deleted") {
+          return current.filter((row) => row.id !== changed.id);
+        }
+        if (current.some((row) => row.id === changed.id)) {
+          return current.map((row) => (row.id === changed.id ? changed : row));
+        }
+        // New rows sort last by id, so they belong on screen once every page is loaded
+        const { nextCursor: more, searchQuery: query } = listState.current;
+        return type === "created" && !more && !query.trim()
+          ? [...current, changed]
+          : current;
+      });
+    });
+  }, [action]);
+
   const resetForm = () => {
     setEmployee({
       firstName: "",
@@ -41,19 +72,20 @@ const Admin = () => {
     }
   };
 
-  const validateForm = () => {
+  // partial: updates only send the fields that were filled in, so none is required
+  const validateForm = (partial = false) => {
     const newErrors = {};
 
-    if (!employee.firstName) newErrors.firstName = "First name is required";
-    if (!employee.lastName) newErrors.lastName = "Last name is required";
+    if (!partial && !employee.firstName) newErrors.firstName = "First name is required";
+    if (!partial && !employee.lastName) newErrors.lastName = "Last name is required";
 
     if (!employee.email) {
-      newErrors.email = "Email is required";
+      if (!partial) newErrors.email = "Email is required";
     } else if (!/\S+@\S+\.\S+/.test(employee.email)) {
       newErrors.email = "Email is invalid";
     }
 
-    if (!employee.department) newErrors.department = "Department is required";
+    if (!partial && !employee.department) newErrors.department = "Department is required";
 
     if (employee.salary && parseFloat(employee.salary) < 0) {
       newErrors.salary = "Salary cannot be negative";
@@ -116,20 +148,27 @@ const Admin = () => {
             return;
           }
 
-          if (!validateForm()) return;
+          if (!validateForm(true)) return;
 
-          const updateData = {
-            ...employee,
-            salary: employee.salary ? parseFloat(employee.salary) : 0,
-          };
+          // Merge patch: only the fields filled in are sent, and only those change
+          const patchData = Object.fromEntries(
+            Object.entries(employee).filter(([, value]) => value !== "")
+          );
+          if (patchData.salary !== undefined) {
+            patchData.salary = parseFloat(patchData.salary);
+          }
+          if (Object.keys(patchData).length === 0) {
+            setMessage("Fill in at least one field to update");
+            return;
+          }
 
-          response = await axios.put(
+          response = await axios.patch(
             `http://localhost:8080/api/employees/${employeeId}`,
-            updateData,
+            patchData,
             {
               headers: {
                 Authorization: `Bearer ${localStorage.getItem("token")}`,
-                "Content-Type": "application/json",
+                "Content-Type": "application/merge-patch+json",
               },
             }
           );
@@ -176,13 +215,30 @@ const Admin = () => {
           break;
 
         case "getAll":
+          if (searchQuery.trim()) {
+            response = await axios.get(
+              "http://localhost:8080/api/employees/search",
+              {
+                params: { q: searchQuery, limit: 50 },
+                headers: {
+                  Authorization: `Bearer ${localStorage.getItem("token")}`,
+                },
+              }
+            );
+
+            setEmployees(response.data.items);
+            setNextCursor(null);
+            break;
+          }
+
           response = await axios.get("http://localhost:8080/api/employees", {
             headers: {
               Authorization: `Bearer ${localStorage.getItem("token")}`,
             },
           });
 
-          setEmployees(response.data);
+          setEmployees(response.data.items);
+          setNextCursor(response.data.nextCursor);
           break;
 
         default:
@@ -210,6 +266,22 @@ const Admin = () => {
     }
   };
 
+  const loadMore = async () => {
+    try {
+      const response = await axios.get("http://localhost:8080/api/employees", {
+        params: { cursor: nextCursor },
+        headers: {
+          Authorization: `Bearer ${localStorage.getItem("token")}`,
+        },
+      });
+
+      setEmployees([...employees, ...response.data.items]);
+      setNextCursor(response.data.nextCursor);
+    } catch (error) {
+      setMessage("Error: " + error.message);
+    }
+  };
+
   return (
     <div className="admin-dashboard">
       <h2>Admin Dashboard</h2>
@@ -292,6 +364,18 @@ const Admin = () => {
               </div>
             )}
 
+            {action === "getAll" && (
+              <div className="form-group">
+                <label>Search:</label>
+                <input
+                  type="text"
+                  placeholder="Name, email or department"
+                  value={searchQuery}
+                  onChange={(e) => setSearchQuery(e.target.value)}
+                />
+              </div>
+            )}
+
             {(action === "add" || action === "update") && (
               <>
                 <div className="form-group">
@@ -416,6 +500,11 @@ const Admin = () => {
               ))}
             </tbody>
           </table>
+          {nextCursor && (
+            <button className="submit-button" onClick={loadMore}>
+              Load more
+            </button>
+          )}
         </div>
       )}
       {action === "get" && employee && employee.firstName && (
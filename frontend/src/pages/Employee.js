@@ -165,6 +165,15 @@ const Employee = () => {
           }
         );
         console.log("Credential update response:", credentialResponse.data);
+
+        // Changing credentials revokes the current token, so sign in again
+        localStorage.removeItem("token");
+        localStorage.removeItem("role");
+        localStorage.removeItem("userId");
+        navigate("/", {
+          state: { message: "Credentials updated. Please log in again." },
+        });
+        return;
       }
 
       setMessage("Profile updated successfully");
@@ -0,0 +1,61 @@
+// Follows GET /api/employees/changes (Server-Sent Events). EventSource cannot send the
+// Authorization header, so the stream is read with fetch. Reconnects after the server's
+// retry interval, resuming with Last-Event-ID. Returns a function that stops the feed.
+const subscribeToEmployeeChanges = (onChange) => {
+  const controller = new AbortController();
+  let lastEventId = null;
+  let retryMs = 2000;
+
+  const dispatch = (block) => {
+    let event = "message";
+    let data = "";
+    for (const line of block.split("\n")) {
+      if (line.startsWith(":")) continue;
+      const separator = line.indexOf(":");
+      const field = separator === -1 ? line : line.slice(0, separator);
+      const value = separator === -1 ? "" : line.slice(separator + 1).replace(/^ /, "");
+      if (field === "id") lastEventId = value;
+      else if (field === "event") event = value;
+      else if (field === "data") data += value;
+      else if (field === "retry") retryMs = parseInt(value, 10) || retryMs;
+    }
+    if (event !== "message") {
+      onChange(event, data ? JSON.parse(data) : null);
+    }
+  };
+
+  const connect = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        const headers = { Authorization: `Bearer ${localStorage.getItem("token")}` };
+        if (lastEventId !== null) headers["Last-Event-ID"] = lastEventId;
+        const response = await fetch("http://localhost:8080/api/employees/changes", {
+          headers,
+          signal: controller.signal,
+        });
+        if (response.status === 401 || response.status === 403) return;
+        const reader = response.body.getReader();
+        const decoder = new TextDecoder();
+        let buffered = "";
+        for (;;) {
+          const { done, value } = await reader.read();
+          if (done) break;
+          buffered += decoder.decode(value, { stream: true });
+          let end;
+          while ((end = buffered.indexOf("\n\n")) !== -1) {
+            dispatch(buffered.slice(0, end));
+            buffered = buffered.slice(end + 2);
+          }
+        }
+      } catch (error) {
+        if (controller.signal.aborted) return;
+      }
+      await new Promise((resolve) => setTimeout(resolve, retryMs));
+    }
+  };
+
+  connect();
+  return () => controller.abort();
+};
+
+export default subscribeToEmployeeChanges;
@@ -3,6 +3,8 @@ package com.example.demo.Config;
 import com.example.demo.Model.AppUser;
 import com.example.demo.Model.Role;
 import com.example.demo.Repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -10,6 +12,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class AdminUserInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(AdminUserInitializer.class);
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
@@ -31,7 +35,7 @@ public class AdminUserInitializer implements CommandLineRunner {
             // Save the admin user to the database
             userRepository.save(adminUser);
 
-            System.out.println("Default admin user created with username 'admin' and password '123'");
+            log.info("Default admin user created with username 'admin' and password '123'");
         }
     }
 }
@@ -0,0 +1,79 @@
+package com.example.demo.Config;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+// Hibernate second-level cache for Employee/AppUser by id plus the username and appUser lookups
+// (cacheable queries). Hibernate keeps it coherent on every write path, including bulk HQL statements,
+// by updating the entity regions and the per-table update timestamps on commit.
+//
+// Any JSR-107 CacheManager can be supplied here (Hazelcast, Infinispan, clustered Ehcache); this one is
+// in-process Caffeine with size and TTL bounds. Each region reports cache.gets{result=hit|miss},
+// cache.puts, cache.evictions and cache.removals to Micrometer.
+@Configuration
+public class EntityCacheConfig {
+
+	static final String EMPLOYEES_REGION = "employees";
+	static final String USERS_REGION = "users";
+
+	@Bean
+	public CacheManager entityCacheManager(@Value("${entity.cache.maximum-size:10000}") long maximumSize,
+			@Value("${entity.cache.expire-after-write-seconds:600}") long expireAfterWriteSeconds,
+			MeterRegistry meterRegistry) {
+		CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+				.getCacheManager();
+
+		CaffeineConfiguration<Object, Object> bounded = baseConfiguration();
+		bounded.setMaximumSize(OptionalLong.of(maximumSize));
+		bounded.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(expireAfterWriteSeconds)));
+		for (String region : List.of(EMPLOYEES_REGION, USERS_REGION,
+				RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)) {
+			createIfMissing(cacheManager, region, bounded);
+		}
+		// One entry per table; query results are only trusted against these, so they must never be evicted
+		createIfMissing(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+				baseConfiguration());
+
+		for (String region : cacheManager.getCacheNames()) {
+			JCacheMetrics.monitor(meterRegistry, cacheManager.getCache(region));
+		}
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+	}
+
+	private static CaffeineConfiguration<Object, Object> baseConfiguration() {
+		CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+		// Hibernate caches immutable disassembled state, so the JCache default copy-on-read/write is pure overhead
+		configuration.setStoreByValue(false);
+		configuration.setStatisticsEnabled(true);
+		return configuration;
+	}
+
+	private static void createIfMissing(CacheManager cacheManager, String region,
+			CaffeineConfiguration<Object, Object> configuration) {
+		if (cacheManager.getCache(region) == null) {
+			cacheManager.createCache(region, configuration);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.example.demo.Config;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PreDestroy;
+
+// Replication for local runs and tests, where primary and replica are two H2 databases: the replica gets the
+// Flyway schema once, then a full copy of the primary's rows every datasource.routing.h2-stand-in.interval-ms.
+// Each copy is one SCRIPT snapshot of the primary applied in one replica transaction, so readers of the
+// replica see whole snapshots, never a half-applied one, and lag behind by up to one interval, as a real
+// asynchronous replica would. Copies every row each time: meant for development data, not production.
+class H2ReplicaStandIn {
+
+	private static final Logger log = LoggerFactory.getLogger(H2ReplicaStandIn.class);
+	private static final String FLYWAY_HISTORY = "flyway_schema_history";
+
+	private final DataSource primary;
+	// Held open for the stand-in's lifetime, which also keeps an in-memory replica database alive
+	private final Connection replica;
+
+	H2ReplicaStandIn(DataSource primary, HikariDataSource replica) throws SQLException {
+		this.primary = primary;
+		this.replica = DriverManager.getConnection(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword());
+		Flyway.configure().dataSource(new SingleConnectionDataSource(this.replica, true)).load().migrate();
+		try (Statement statement = this.replica.createStatement()) {
+			// Constraints were checked on the primary; tables are refilled in whatever order they are listed
+			statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+			// The migration's own heartbeat row would claim the empty replica is current; until the first
+			// copy brings the primary's, ReplicaHeartbeat treats the replica as unreachable
+			statement.execute("DELETE FROM replication_heartbeat");
+		}
+		this.replica.setAutoCommit(false);
+	}
+
+	// The first copy runs as soon as scheduling starts, after the primary has been migrated
+	@Scheduled(fixedDelayString = "${datasource.routing.h2-stand-in.interval-ms:500}")
+	public synchronized void replicate() {
+		try {
+			List<String> tables = new ArrayList<>();
+			List<String> inserts = new ArrayList<>();
+			try (Connection source = primary.getConnection(); Statement statement = source.createStatement()) {
+				try (ResultSet rows = statement.executeQuery("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+						+ "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE'")) {
+					while (rows.next()) {
+						if (!rows.getString(1).equals(FLYWAY_HISTORY)) {
+							tables.add("\"PUBLIC\".\"" + rows.getString(1) + "\"");
+						}
+					}
+				}
+				// One statement, so one consistent snapshot of all tables
+				try (ResultSet rows = statement.executeQuery("SCRIPT NOPASSWORDS NOSETTINGS TABLE "
+						+ String.join(", ", tables))) {
+					while (rows.next()) {
+						if (rows.getString(1).startsWith("INSERT INTO ")) {
+							inserts.add(rows.getString(1));
+						}
+					}
+				}
+			}
+			try (Statement statement = replica.createStatement()) {
+				for (String table : tables) {
+					statement.execute("DELETE FROM " + table);
+				}
+				for (String insert : inserts) {
+					statement.execute(insert);
+				}
+				replica.commit();
+			} catch (SQLException e) {
+				replica.rollback();
+				throw e;
+			}
+		} catch (SQLException e) {
+			log.warn("H2 replica stand-in could not copy the primary", e);
+		}
+	}
+
+	@PreDestroy
+	public synchronized void close() throws SQLException {
+		replica.close();
+	}
+}
@@ -0,0 +1,20 @@
+package com.example.demo.Config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+// Tunes the one ObjectMapper Spring Boot builds, which MVC, the security filters, exports and the
+// pre-serialized response cache all share. Blackbird replaces reflective getter, setter and constructor
+// calls with generated lambdas; one shared mapper also keeps a single warm serializer cache.
+@Configuration
+public class JacksonConfig {
+
+	// Module beans are registered with the auto-configured mapper next to the ones Boot adds itself
+	@Bean
+	public Module blackbirdModule() {
+		return new BlackbirdModule();
+	}
+}
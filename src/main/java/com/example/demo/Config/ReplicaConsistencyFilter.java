@@ -0,0 +1,67 @@
+package com.example.demo.Config;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Read-your-writes across requests: remembers when each client last committed a write, by client address
+// and by authenticated user (a client that registers and then logs in changes from one to both), and makes
+// the client's replica-eligible reads wait for the replica to pass that write. Entries expire after the
+// read-your-writes window. Registered after Spring Security's chain, so the principal is already known.
+class ReplicaConsistencyFilter extends OncePerRequestFilter {
+
+	private final ReplicaRouter router;
+	private final Cache<String, Instant> lastWrites;
+
+	ReplicaConsistencyFilter(ReplicaRouter router, Duration window, long maximumClients) {
+		this.router = router;
+		this.lastWrites = Caffeine.newBuilder().expireAfterWrite(window).maximumSize(maximumClients).build();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		List<String> clients = clients(request);
+		Instant lastWrite = null;
+		for (String client : clients) {
+			Instant written = lastWrites.getIfPresent(client);
+			if (written != null && (lastWrite == null || written.isAfter(lastWrite))) {
+				lastWrite = written;
+			}
+		}
+		router.restore(lastWrite);
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			Instant after = router.consistencyPoint();
+			router.restore(null);
+			// Moved forward only by a commit during this request
+			if (after != null && !after.equals(lastWrite)) {
+				clients.forEach(client -> lastWrites.put(client, after));
+			}
+		}
+	}
+
+	private static List<String> clients(HttpServletRequest request) {
+		List<String> clients = new ArrayList<>(2);
+		clients.add("address:" + request.getRemoteAddr());
+		Principal principal = request.getUserPrincipal();
+		if (principal != null) {
+			clients.add("user:" + principal.getName());
+		}
+		return clients;
+	}
+}
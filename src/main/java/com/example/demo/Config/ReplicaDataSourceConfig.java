@@ -0,0 +1,90 @@
+package com.example.demo.Config;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Read/write split, active when datasource.replica.jdbc-url is set. Two Hikari pools, "primary" from
+// spring.datasource.* and "replica" from datasource.replica.* (both reported as hikaricp.*{pool=...}),
+// behind a routing DataSource that JPA and everything else use. Which pool a transaction gets is decided
+// by ReplicaRouter; Flyway always migrates the primary. Without the property none of this exists and
+// Spring Boot's single auto-configured pool is used, with replica labels on transactions ignored.
+@Configuration
+@ConditionalOnProperty("datasource.replica.jdbc-url")
+public class ReplicaDataSourceConfig {
+
+	@Bean
+	@FlywayDataSource
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+
+	@Bean
+	@ConfigurationProperties("datasource.replica")
+	public HikariDataSource replicaDataSource() {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setPoolName("replica");
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+			ReplicaRouter router, @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+		if (openInView) {
+			// The request's EntityManager would keep the first connection it got, replica or not, for every
+			// later transaction of the request, writes included
+			throw new IllegalStateException("datasource.replica needs spring.jpa.open-in-view=false");
+		}
+		return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, router);
+	}
+
+	@Bean
+	public JpaTransactionManager transactionManager(ReplicaRouter router,
+			ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+		JpaTransactionManager transactionManager = new ReplicaRoutingTransactionManager(router);
+		transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+		return transactionManager;
+	}
+
+	@Bean
+	public ReplicaHeartbeat replicaHeartbeat(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+			ReplicaRouter router) {
+		return new ReplicaHeartbeat(primaryDataSource, replicaDataSource, router);
+	}
+
+	// Should be at least datasource.routing.max-lag-ms: a write forgotten earlier could still be missing
+	// from a replica that is within the lag limit
+	@Bean
+	public ReplicaConsistencyFilter replicaConsistencyFilter(ReplicaRouter router,
+			@Value("${datasource.routing.read-your-writes-ms:30000}") long windowMs,
+			@Value("${datasource.routing.read-your-writes-clients:100000}") long maximumClients) {
+		return new ReplicaConsistencyFilter(router, Duration.ofMillis(windowMs), maximumClients);
+	}
+
+	@Bean
+	@ConditionalOnProperty("datasource.routing.h2-stand-in.enabled")
+	public H2ReplicaStandIn h2ReplicaStandIn(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource)
+			throws SQLException {
+		return new H2ReplicaStandIn(primaryDataSource, replicaDataSource);
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.demo.Config;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// Measures replication lag the way pt-heartbeat does: stamps replication_heartbeat on the primary, then
+// reads the stamp back from the replica. The replica holds every commit made before the stamp it shows,
+// which is what ReplicaRouter compares consistency points with. Works with any replication mechanism,
+// including H2ReplicaStandIn. Until the first successful read, and whenever a read fails, the replica counts
+// as infinitely behind (datasource.replica.lag is NaN then).
+class ReplicaHeartbeat {
+
+	private static final Logger log = LoggerFactory.getLogger(ReplicaHeartbeat.class);
+
+	private final JdbcTemplate primary;
+	private final JdbcTemplate replica;
+	private final ReplicaRouter router;
+	private volatile boolean reachable;
+
+	ReplicaHeartbeat(DataSource primary, DataSource replica, ReplicaRouter router) {
+		this.primary = new JdbcTemplate(primary);
+		this.replica = new JdbcTemplate(replica);
+		this.router = router;
+	}
+
+	@Scheduled(fixedDelayString = "${datasource.routing.heartbeat-interval-ms:1000}")
+	public void beat() {
+		try {
+			primary.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1",
+					OffsetDateTime.ofInstant(Instant.now().truncatedTo(ChronoUnit.MICROS), ZoneOffset.UTC));
+		} catch (DataAccessException e) {
+			log.warn("Could not write the replication heartbeat", e);
+		}
+		try {
+			OffsetDateTime replicated = replica.queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1",
+					OffsetDateTime.class);
+			router.replicated(replicated.toInstant());
+			if (!reachable) {
+				log.info("Replica heartbeat readable, reads are routed to the replica while it is within the lag limit");
+				reachable = true;
+			}
+		} catch (DataAccessException e) {
+			router.unreachable();
+			if (reachable) {
+				log.warn("Replica heartbeat unreadable, replica reads go to the primary", e);
+				reachable = false;
+			}
+		}
+	}
+}
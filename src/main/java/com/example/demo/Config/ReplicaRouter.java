@@ -0,0 +1,138 @@
+package com.example.demo.Config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Decides which pool a transaction reads from when a replica is configured (see ReplicaDataSourceConfig).
+// Only read-only transactions carrying the REPLICA label are candidates, e.g.
+// @Transactional(readOnly = true, label = ReplicaRouter.REPLICA); everything else, including Spring Data's
+// own read-only repository transactions, stays on the primary. A candidate goes to the replica when
+// ReplicaHeartbeat last saw it within datasource.routing.max-lag-ms of the primary and it has replicated
+// past the thread's consistency point: the last commit on this thread, the client's last write
+// (ReplicaConsistencyFilter) or whatever a caller asks for with readAfter.
+//
+// Meters: datasource.reads{target=replica|primary, reason=routed|replica-lag|read-your-writes} for every
+// candidate, and datasource.replica.lag (seconds, NaN until the replica has been reached).
+@Component
+public class ReplicaRouter {
+
+	public static final String REPLICA = "replica";
+
+	enum Target {
+		PRIMARY, REPLICA
+	}
+
+	private final Duration maxLag;
+	// Set only while a transaction acquires its connection (ReplicaRoutingTransactionManager)
+	private final ThreadLocal<Target> target = new ThreadLocal<>();
+	// Replica reads on this thread must include every commit made before this instant
+	private final ThreadLocal<Instant> notBefore = new ThreadLocal<>();
+	private final Counter routed;
+	private final Counter lagging;
+	private final Counter readYourWrites;
+	// How far the replica has replicated, as of the last heartbeat; null while unknown or unreachable
+	private volatile Instant replicatedAsOf;
+	private volatile Duration lag;
+
+	public ReplicaRouter(@Value("${datasource.routing.max-lag-ms:5000}") long maxLagMs, MeterRegistry meterRegistry) {
+		this.maxLag = Duration.ofMillis(maxLagMs);
+		this.routed = reads(meterRegistry, "replica", "routed");
+		this.lagging = reads(meterRegistry, "primary", "replica-lag");
+		this.readYourWrites = reads(meterRegistry, "primary", "read-your-writes");
+		Gauge.builder("datasource.replica.lag", this, router -> {
+			Duration current = router.lag;
+			return current == null ? Double.NaN : current.toNanos() / 1e9;
+		}).baseUnit("seconds").description("Age of the newest heartbeat the replica has replicated")
+				.register(meterRegistry);
+	}
+
+	private static Counter reads(MeterRegistry meterRegistry, String target, String reason) {
+		return Counter.builder("datasource.reads").description("Replica-eligible read-only transactions by pool")
+				.tag("target", target).tag("reason", reason).register(meterRegistry);
+	}
+
+	// Runs a read that must see every change committed before the given instant (null: no requirement)
+	public <T> T readAfter(Instant instant, Supplier<T> read) {
+		Instant previous = notBefore.get();
+		if (instant == null || (previous != null && !instant.isAfter(previous))) {
+			return read.get();
+		}
+		notBefore.set(instant);
+		try {
+			return read.get();
+		} finally {
+			restore(previous);
+		}
+	}
+
+	Target begin(TransactionDefinition definition) {
+		Target chosen = choose(definition);
+		target.set(chosen);
+		return chosen;
+	}
+
+	void begun() {
+		target.remove();
+	}
+
+	Target currentTarget() {
+		Target current = target.get();
+		return current == null ? Target.PRIMARY : current;
+	}
+
+	// After a read-write commit: later reads on this thread have to see it
+	void committedWrite() {
+		notBefore.set(Instant.now());
+	}
+
+	Instant consistencyPoint() {
+		return notBefore.get();
+	}
+
+	void restore(Instant consistencyPoint) {
+		if (consistencyPoint == null) {
+			notBefore.remove();
+		} else {
+			notBefore.set(consistencyPoint);
+		}
+	}
+
+	void replicated(Instant asOf) {
+		replicatedAsOf = asOf;
+		lag = Duration.between(asOf, Instant.now());
+	}
+
+	void unreachable() {
+		replicatedAsOf = null;
+		lag = null;
+	}
+
+	private Target choose(TransactionDefinition definition) {
+		if (!definition.isReadOnly()
+				|| !(definition instanceof TransactionAttribute attribute && attribute.getLabels().contains(REPLICA))) {
+			return Target.PRIMARY;
+		}
+		Instant asOf = replicatedAsOf;
+		if (asOf == null || Duration.between(asOf, Instant.now()).compareTo(maxLag) > 0) {
+			lagging.increment();
+			return Target.PRIMARY;
+		}
+		Instant required = notBefore.get();
+		if (required != null && asOf.isBefore(required)) {
+			readYourWrites.increment();
+			return Target.PRIMARY;
+		}
+		routed.increment();
+		return Target.REPLICA;
+	}
+}
@@ -0,0 +1,27 @@
+package com.example.demo.Config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// The application's DataSource when a replica is configured: connections come from the pool ReplicaRouter
+// chose for the transaction being begun, and from the primary for everything else (Flyway, Hibernate's
+// startup checks, plain JDBC)
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	private final ReplicaRouter router;
+
+	ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaRouter router) {
+		this.router = router;
+		setTargetDataSources(Map.of(ReplicaRouter.Target.PRIMARY, primary, ReplicaRouter.Target.REPLICA, replica));
+		setDefaultTargetDataSource(primary);
+		setLenientFallback(false);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return router.currentTarget();
+	}
+}
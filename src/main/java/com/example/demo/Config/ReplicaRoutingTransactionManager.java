@@ -0,0 +1,46 @@
+package com.example.demo.Config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// JpaTransactionManager that lets ReplicaRouter pick the pool as a transaction begins. Hibernate takes its
+// connection inside doBegin and holds it until the end, so the choice only needs to be visible while
+// super.doBegin runs; joined transactions keep whatever their outer transaction got.
+class ReplicaRoutingTransactionManager extends JpaTransactionManager {
+
+	private final ReplicaRouter router;
+
+	ReplicaRoutingTransactionManager(ReplicaRouter router) {
+		this.router = router;
+	}
+
+	@Override
+	protected void doBegin(Object transaction, TransactionDefinition definition) {
+		ReplicaRouter.Target target = router.begin(definition);
+		try {
+			super.doBegin(transaction, definition);
+		} finally {
+			router.begun();
+		}
+		if (target == ReplicaRouter.Target.REPLICA) {
+			// Rows read from a lagging replica may predate commits the caches already hold; putting them in the
+			// second-level or query cache would serve them long after the replica has caught up
+			EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager
+					.getResource(obtainEntityManagerFactory());
+			holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+		}
+	}
+
+	@Override
+	protected void doCommit(DefaultTransactionStatus status) {
+		super.doCommit(status);
+		if (!status.isReadOnly()) {
+			router.committedWrite();
+		}
+	}
+}
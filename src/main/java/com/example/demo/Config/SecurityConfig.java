@@ -1,13 +1,21 @@
 package com.example.demo.Config;
 
+import com.example.demo.Security.BoundedPasswordEncoder;
+import com.example.demo.Security.AuthMetrics;
 import com.example.demo.Security.JwtFilter;
 import com.example.demo.Security.JwtUtil;
+import com.example.demo.Security.LoginRateLimitFilter;
+import com.example.demo.Security.LoginRateLimiter;
+import com.example.demo.Security.TokenVersionRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,8 +24,6 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -32,26 +38,44 @@ public class SecurityConfig {
 	private final JwtUtil jwtUtil;
 
 	@Autowired
-	private final UserDetailsService userDetailsService;
+	private final TokenVersionRegistry tokenVersions;
+	private final AuthMetrics authMetrics;
 
-	public SecurityConfig(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+	public SecurityConfig(JwtUtil jwtUtil, TokenVersionRegistry tokenVersions, AuthMetrics authMetrics) {
 		super();
 		this.jwtUtil = jwtUtil;
-		this.userDetailsService = userDetailsService;
+		this.tokenVersions = tokenVersions;
+		this.authMetrics = authMetrics;
 	}
 
 	@Bean
-	public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+	public SecurityFilterChain securityFilterChain(HttpSecurity http,
+			@Value("${security.login.rate-limit.enabled:true}") boolean loginRateLimitEnabled,
+			LoginRateLimiter loginRateLimiter, ObjectMapper objectMapper) throws Exception {
 		http.csrf(csrf -> csrf.disable()).cors(cors -> cors.configurationSource(corsConfigurationSource()))
 				.authorizeHttpRequests(
-						authz -> authz.requestMatchers("/api/auth/register", "/api/auth/login", "/h2-console/**")
+						// ASYNC re-dispatches (SSE completion) belong to a request that was already authorized;
+						// the stateless JWT filter does not run for them, so they would otherwise be denied
+						authz -> authz.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+								.requestMatchers("/api/auth/register", "/api/auth/login", "/h2-console/**")
 								.permitAll().requestMatchers(HttpMethod.GET, "/api/employees").hasRole("ADMIN")
+								.requestMatchers(HttpMethod.GET, "/api/employees/export").hasRole("ADMIN")
+								.requestMatchers(HttpMethod.GET, "/api/employees/stats").hasRole("ADMIN")
+								.requestMatchers(HttpMethod.GET, "/api/employees/search").hasRole("ADMIN")
+								.requestMatchers(HttpMethod.GET, "/api/employees/payroll").hasRole("ADMIN")
+								.requestMatchers(HttpMethod.GET, "/api/employees/changes").hasRole("ADMIN")
 								.requestMatchers(HttpMethod.GET, "/api/employees/{id}").hasAnyRole("ADMIN", "EMPLOYEE")
 								.requestMatchers(HttpMethod.POST, "/api/employees").hasRole("ADMIN")
+								.requestMatchers(HttpMethod.POST, "/api/employees/import").hasRole("ADMIN")
+								.requestMatchers(HttpMethod.POST, "/api/employees/batch/**").hasRole("ADMIN")
+								.requestMatchers(HttpMethod.POST, "/api/employees/{id}/reset-password").hasRole("ADMIN")
 								.requestMatchers(HttpMethod.PUT, "/api/employees/{id}").hasAnyRole("ADMIN", "EMPLOYEE")
+								.requestMatchers(HttpMethod.PATCH, "/api/employees/{id}").hasRole("ADMIN")
 								.requestMatchers(HttpMethod.PUT, "/api/employees/{id}/update-credentials")
 								.hasRole("EMPLOYEE").requestMatchers(HttpMethod.DELETE, "/api/employees/{id}")
-								.hasRole("ADMIN").anyRequest().authenticated())
+								.hasRole("ADMIN").requestMatchers("/api/reports/**").hasRole("ADMIN")
+								.requestMatchers("/actuator/**").hasRole("ADMIN")
+								.anyRequest().authenticated())
 				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 				.headers(headers ->
                 headers
@@ -74,7 +98,7 @@ public class SecurityConfig {
 							errorDetails.put("timestamp", System.currentTimeMillis());
 							errorDetails.put("path", request.getRequestURI());
 
-							new ObjectMapper().writeValue(response.getOutputStream(), errorDetails);
+							objectMapper.writeValue(response.getOutputStream(), errorDetails);
 						}).accessDeniedHandler((request, response, accessDeniedException) -> {
 							response.setStatus(HttpServletResponse.SC_FORBIDDEN);
 							response.setContentType(MediaType.APPLICATION_JSON_VALUE);
@@ -86,17 +110,48 @@ public class SecurityConfig {
 							errorDetails.put("timestamp", System.currentTimeMillis());
 							errorDetails.put("path", request.getRequestURI());
 
-							new ObjectMapper().writeValue(response.getOutputStream(), errorDetails);
+							objectMapper.writeValue(response.getOutputStream(), errorDetails);
 						}))
-				.addFilterBefore(new JwtFilter(jwtUtil, userDetailsService),
+				.addFilterBefore(new JwtFilter(jwtUtil, tokenVersions, authMetrics, objectMapper),
 						UsernamePasswordAuthenticationFilter.class);
+		if (loginRateLimitEnabled) {
+			// Throttled logins are turned away before the body is bound or a password is hashed
+			http.addFilterBefore(new LoginRateLimitFilter(loginRateLimiter, objectMapper), JwtFilter.class);
+		}
 
 		return http.build();
 	}
 
+	// BCrypt cost is calibrated once at startup to the configured latency target, and hashing runs
+	// on its own bounded pool (see BoundedPasswordEncoder)
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(@Value("${security.password.target-latency-ms:100}") long targetLatencyMs,
+			@Value("${security.password.min-strength:10}") int minStrength,
+			@Value("${security.password.max-strength:14}") int maxStrength,
+			@Value("${security.password.threads:0}") int threads,
+			@Value("${security.password.queue-capacity:64}") int queueCapacity,
+			@Value("${security.password.max-wait-ms:5000}") long maxWaitMs, MeterRegistry meterRegistry) {
+		int strength = BoundedPasswordEncoder.calibrateStrength(targetLatencyMs, minStrength, maxStrength);
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, maxWaitMs, meterRegistry);
+	}
+
+	// Per-address and per-username token buckets plus a cap on logins in flight, which defaults to what
+	// the password hashing pool can run and queue
+	@Bean
+	public LoginRateLimiter loginRateLimiter(
+			@Value("${security.login.rate-limit.per-address.capacity:20}") int addressCapacity,
+			@Value("${security.login.rate-limit.per-address.refill-per-minute:60}") double addressPerMinute,
+			@Value("${security.login.rate-limit.per-username.capacity:5}") int usernameCapacity,
+			@Value("${security.login.rate-limit.per-username.refill-per-minute:10}") double usernamePerMinute,
+			@Value("${security.login.rate-limit.max-keys:100000}") int maxKeys,
+			@Value("${security.login.rate-limit.max-concurrent:0}") int maxConcurrent,
+			@Value("${security.password.threads:0}") int hashThreads,
+			@Value("${security.password.queue-capacity:64}") int hashQueueCapacity, MeterRegistry meterRegistry) {
+		int poolSize = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+		int concurrent = maxConcurrent > 0 ? maxConcurrent : poolSize + hashQueueCapacity;
+		return new LoginRateLimiter(addressCapacity, addressPerMinute, usernameCapacity, usernamePerMinute, maxKeys,
+				concurrent, meterRegistry);
 	}
 
 	@Bean
@@ -108,8 +163,9 @@ public class SecurityConfig {
 	public CorsConfigurationSource corsConfigurationSource() {
 		CorsConfiguration config = new CorsConfiguration();
 		config.setAllowedOrigins(List.of("http://localhost:3000"));
-		config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE"));
-		config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+		config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE"));
+		config.setAllowedHeaders(List.of("Authorization", "Content-Type", "If-Match", "Last-Event-ID", "Range"));
+		config.setExposedHeaders(List.of("ETag", "Location", "Content-Range", "Content-Disposition"));
 		config.setAllowCredentials(true);
 
 		UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,127 @@
+package com.example.demo.Config;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+// SQL statements per HTTP request: recorded as sql.statements.per.request (tagged by URI template),
+// logged at WARN when over sql.statements.budget, and, with sql.statements.expose-header (dev only),
+// returned in the X-SQL-Statements header so N+1s and redundant lookups show up in the browser and in tests.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+	public static final String HEADER = "X-SQL-Statements";
+
+	private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+	private final SqlStatementCounter counter;
+	private final MeterRegistry meterRegistry;
+	private final int budget;
+	private final boolean exposeHeader;
+
+	public SqlStatementBudgetFilter(SqlStatementCounter counter, MeterRegistry meterRegistry,
+			@Value("${sql.statements.budget:10}") int budget,
+			@Value("${sql.statements.expose-header:false}") boolean exposeHeader) {
+		this.counter = counter;
+		this.meterRegistry = meterRegistry;
+		this.budget = budget;
+		this.exposeHeader = exposeHeader;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		counter.start();
+		try {
+			HttpServletResponse target = exposeHeader ? new CountingHeaderResponse(response) : response;
+			filterChain.doFilter(request, target);
+			if (exposeHeader && !response.isCommitted()) {
+				response.setHeader(HEADER, String.valueOf(counter.current()));
+			}
+		} finally {
+			record(request, counter.stop());
+		}
+	}
+
+	private void record(HttpServletRequest request, int statements) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		DistributionSummary.builder("sql.statements.per.request")
+				.description("SQL statements prepared while handling one HTTP request")
+				.tag("method", request.getMethod())
+				.tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+				.register(meterRegistry)
+				.record(statements);
+		if (statements > budget) {
+			log.warn("{} {} ran {} SQL statements, over the budget of {}", request.getMethod(),
+					request.getRequestURI(), statements, budget);
+		}
+	}
+
+	// Headers cannot change once the body starts, so the count so far is written just before that point
+	private final class CountingHeaderResponse extends HttpServletResponseWrapper {
+
+		CountingHeaderResponse(HttpServletResponse response) {
+			super(response);
+		}
+
+		private void writeCount() {
+			if (!isCommitted()) {
+				setHeader(HEADER, String.valueOf(counter.current()));
+			}
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			writeCount();
+			return super.getOutputStream();
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			writeCount();
+			return super.getWriter();
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			writeCount();
+			super.flushBuffer();
+		}
+
+		@Override
+		public void sendError(int sc) throws IOException {
+			writeCount();
+			super.sendError(sc);
+		}
+
+		@Override
+		public void sendError(int sc, String msg) throws IOException {
+			writeCount();
+			super.sendError(sc, msg);
+		}
+
+		@Override
+		public void sendRedirect(String location) throws IOException {
+			writeCount();
+			super.sendRedirect(location);
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package com.example.demo.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+// Counts the SQL statements Hibernate prepares on the current thread between start() and stop().
+// Registered as the session factory's StatementInspector; SqlStatementBudgetFilter opens one window
+// per HTTP request. A JDBC batch counts once, as it is a single prepared statement.
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+	private final ThreadLocal<Window> window = new ThreadLocal<>();
+
+	@Override
+	public void customize(Map<String, Object> hibernateProperties) {
+		hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+	}
+
+	@Override
+	public String inspect(String sql) {
+		Window current = window.get();
+		if (current != null) {
+			current.count++;
+			if (current.statements != null) {
+				current.statements.add(sql);
+			}
+		}
+		return sql;
+	}
+
+	public void start() {
+		window.set(new Window(null));
+	}
+
+	// Like start(), but also keeps the SQL text so it can be read back with recorded()
+	public void record() {
+		window.set(new Window(new ArrayList<>()));
+	}
+
+	public int current() {
+		Window current = window.get();
+		return current == null ? 0 : current.count;
+	}
+
+	public List<String> recorded() {
+		Window current = window.get();
+		return current == null || current.statements == null ? List.of() : List.copyOf(current.statements);
+	}
+
+	public int stop() {
+		int statements = current();
+		window.remove();
+		return statements;
+	}
+
+	private static final class Window {
+		private final List<String> statements;
+		private int count;
+
+		private Window(List<String> statements) {
+			this.statements = statements;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.example.demo.Config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+// Virtual-thread mode only. Streams the JDK's jdk.VirtualThreadPinned events (a virtual thread that blocked
+// inside a synchronized block or native frame, holding on to its carrier) and attributes each one to the
+// controller method it happened under and the innermost application frame. Reported as the
+// jvm.threads.virtual.pinned timer and logged once per call site with the stack.
+// For a one-off investigation -Djdk.tracePinnedThreads=full prints every pinning stack instead.
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+	private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+	private static final String APP_PACKAGE = "com.example.demo.";
+	private static final String CONTROLLER_PACKAGE = "com.example.demo.Controller.";
+	private static final int LOGGED_FRAMES = 20;
+
+	private final MeterRegistry meterRegistry;
+	private final RecordingStream stream;
+	private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+
+	public VirtualThreadPinningMonitor(@Value("${virtual-threads.pinning.threshold-ms:20}") long thresholdMs,
+			MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+		this.stream = new RecordingStream();
+		stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+		stream.onEvent(PINNED_EVENT, this::onPinned);
+		stream.startAsync();
+		log.info("Virtual thread mode: reporting carrier pinning over {} ms", thresholdMs);
+	}
+
+	private void onPinned(RecordedEvent event) {
+		List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+		String site = "none";
+		String endpoint = "none";
+		// Innermost frame first: the first application frame is the call site, the last controller frame the entry point
+		for (RecordedFrame frame : frames) {
+			if (!frame.isJavaFrame()) {
+				continue;
+			}
+			String type = frame.getMethod().getType().getName();
+			if (site.equals("none") && type.startsWith(APP_PACKAGE)) {
+				site = describe(frame, true);
+			}
+			if (type.startsWith(CONTROLLER_PACKAGE)) {
+				endpoint = describe(frame, false);
+			}
+		}
+
+		Timer.builder("jvm.threads.virtual.pinned")
+				.description("Time virtual threads kept their carrier thread blocked")
+				.tags("endpoint", endpoint, "site", site)
+				.register(meterRegistry)
+				.record(event.getDuration());
+
+		if (loggedSites.add(endpoint + " " + site)) {
+			String stack = frames.stream().limit(LOGGED_FRAMES).map(frame -> "\tat " + describe(frame, true))
+					.collect(Collectors.joining("\n"));
+			log.warn("Virtual thread pinned its carrier for {} ms under {} at {}\n{}",
+					event.getDuration().toMillis(), endpoint, site, stack);
+		}
+	}
+
+	private static String describe(RecordedFrame frame, boolean withLine) {
+		String type = frame.getMethod().getType().getName();
+		String name = type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+		return withLine ? name + ":" + frame.getLineNumber() : name;
+	}
+
+	@Override
+	public void close() {
+		stream.close();
+	}
+}
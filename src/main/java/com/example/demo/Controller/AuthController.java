@@ -4,7 +4,9 @@ import com.example.demo.Model.AppUser;
 import com.example.demo.Model.Employee;
 import com.example.demo.Model.Role;
 import com.example.demo.Repository.UserRepository;
+import com.example.demo.Security.AuthMetrics;
 import com.example.demo.Security.JwtUtil;
+import com.example.demo.Security.TokenVersionRegistry;
 import com.example.demo.Service.EmployeeService;
 import java.util.HashMap;
 import java.util.Map;
@@ -24,13 +26,17 @@ public class AuthController {
 	private final JwtUtil jwtUtil;
 	private final UserRepository userRepository;
 	private final EmployeeService employeeService;
+	private final TokenVersionRegistry tokenVersions;
+	private final AuthMetrics authMetrics;
 
 	public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil, UserRepository userRepository,
-			EmployeeService employeeService) {
+			EmployeeService employeeService, TokenVersionRegistry tokenVersions, AuthMetrics authMetrics) {
 		this.authenticationManager = authenticationManager;
 		this.jwtUtil = jwtUtil;
 		this.userRepository = userRepository;
 		this.employeeService = employeeService;
+		this.tokenVersions = tokenVersions;
+		this.authMetrics = authMetrics;
 	}
 
 	@PostMapping("/login")
@@ -40,22 +46,22 @@ public class AuthController {
 				new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
 
 		UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-		String token = jwtUtil.generateToken(userDetails.getUsername());
 
 		// Fetch the AppUser entity
-		AppUser appUser = userRepository.findByUsername(userDetails.getUsername())
+		AppUser appUser = authMetrics.timeUserLookup(() -> userRepository.findByUsername(userDetails.getUsername()))
 				.orElseThrow(() -> new RuntimeException("User not found after authentication"));
 
 		// Prepare the response
 		Map<String, Object> response = new HashMap<>();
-		response.put("token", token);
 
 		// Check role and set appropriate ID
+		Long employeeId = null;
 		if (appUser.getRole() == Role.EMPLOYEE) {
 			// Fetch Employee by AppUser ID
 			Optional<Employee> employeeOpt = employeeService.findByAppUserId(appUser.getId());
 			if (employeeOpt.isPresent()) {
-				response.put("id", employeeOpt.get().getId().toString());
+				employeeId = employeeOpt.get().getId();
+				response.put("id", employeeId.toString());
 			} else {
 				// Handle case where no Employee is linked (shouldn't happen normally)
 				throw new RuntimeException("Employee profile not found for user: " + appUser.getUsername());
@@ -65,6 +71,11 @@ public class AuthController {
 			response.put("id", appUser.getId().toString());
 		}
 
+		// Role, ids and token version travel in the token so later requests need no user lookup
+		String token = jwtUtil.generateToken(appUser.getUsername(), appUser.getId(), appUser.getRole(), employeeId,
+				tokenVersions.current(appUser.getId()));
+		response.put("token", token);
+
 		return ResponseEntity.ok(response);
 	}
 }
@@ -1,75 +1,240 @@
 package com.example.demo.Controller;
 
+import io.jsonwebtoken.Claims;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import com.example.demo.Model.AppUser;
 import com.example.demo.Model.Employee;
+import com.example.demo.Model.EmployeeBatchRequest;
+import com.example.demo.Model.EmployeeBatchResult;
+import com.example.demo.Model.EmployeeDetail;
+import com.example.demo.Model.EmployeeFileFormat;
+import com.example.demo.Model.EmployeePatch;
+import com.example.demo.Model.EmployeeQuery;
+import com.example.demo.Model.EmployeeSearchResult;
+import com.example.demo.Model.EmployeeSortField;
+import com.example.demo.Model.ImportResult;
+import com.example.demo.Model.PayrollQuery;
+import com.example.demo.Model.PayrollReport;
+import com.example.demo.Model.SalaryStats;
 import com.example.demo.Model.Role;
 import com.example.demo.Repository.UserRepository;
 import com.example.demo.Security.JwtUtil;
+import com.example.demo.Security.TokenVersionRegistry;
+import com.example.demo.Service.EmployeeBatchService;
+import com.example.demo.Service.EmployeeChangeFeed;
+import com.example.demo.Service.EmployeeExportService;
+import com.example.demo.Service.EmployeeImportService;
+import com.example.demo.Service.EmployeeJsonCache;
+import com.example.demo.Service.EmployeeSearchIndex;
 import com.example.demo.Service.EmployeeService;
+import com.example.demo.Service.EmployeeTableVersion;
+import com.example.demo.Service.PayrollSnapshotService;
+import com.example.demo.Service.SalaryStatsService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.validation.BindingResult;
+import java.io.IOException;
+import java.security.SecureRandom;
 import java.time.LocalDate;
+import java.util.Base64;
+import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.Map;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
+	private static final Logger log = LoggerFactory.getLogger(EmployeeController.class);
+	private static final int DEFAULT_PAGE_SIZE = 50;
+	private static final int MAX_PAGE_SIZE = 500;
+	// Deeper search pages rank offset + limit matches per request; refine the query instead
+	private static final int MAX_SEARCH_OFFSET = 10_000;
+	// Browsers may keep the body but must revalidate it (If-None-Match) on every use
+	private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+	private static final SecureRandom PASSWORD_RANDOM = new SecureRandom();
+
 //    @Autowired
 	private EmployeeService employeeService;
 	private final UserRepository userRepository;
 	private final PasswordEncoder passwordEncoder;
-	private final JwtUtil jwtUtil;
+	private final EmployeeExportService employeeExportService;
+	private final EmployeeImportService employeeImportService;
+	private final TokenVersionRegistry tokenVersions;
+	private final SalaryStatsService salaryStatsService;
+	private final EmployeeSearchIndex employeeSearchIndex;
+	private final EmployeeTableVersion employeeTableVersion;
+	private final Validator validator;
+	private final EmployeeChangeFeed employeeChangeFeed;
+	private final EmployeeBatchService employeeBatchService;
+	private final PayrollSnapshotService payrollSnapshotService;
+	private final EmployeeJsonCache employeeJsonCache;
 
 	public EmployeeController(EmployeeService employeeService, UserRepository userRepository,
-			PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+			PasswordEncoder passwordEncoder, EmployeeExportService employeeExportService,
+			EmployeeImportService employeeImportService, TokenVersionRegistry tokenVersions,
+			SalaryStatsService salaryStatsService, EmployeeSearchIndex employeeSearchIndex,
+			EmployeeTableVersion employeeTableVersion, Validator validator, EmployeeChangeFeed employeeChangeFeed,
+			EmployeeBatchService employeeBatchService, PayrollSnapshotService payrollSnapshotService,
+			EmployeeJsonCache employeeJsonCache) {
 		this.employeeService = employeeService;
 		this.userRepository = userRepository;
 		this.passwordEncoder = passwordEncoder;
-		this.jwtUtil = jwtUtil;
+		this.employeeExportService = employeeExportService;
+		this.employeeImportService = employeeImportService;
+		this.tokenVersions = tokenVersions;
+		this.salaryStatsService = salaryStatsService;
+		this.employeeSearchIndex = employeeSearchIndex;
+		this.employeeTableVersion = employeeTableVersion;
+		this.validator = validator;
+		this.employeeChangeFeed = employeeChangeFeed;
+		this.employeeBatchService = employeeBatchService;
+		this.payrollSnapshotService = payrollSnapshotService;
+		this.employeeJsonCache = employeeJsonCache;
 	}
 
 	@PreAuthorize("hasRole('ADMIN')")
 	@GetMapping
-	public List<Employee> getAllEmployees() {
-		return employeeService.getAllEmployees();
+	public ResponseEntity<?> getAllEmployees(@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+			@RequestParam(defaultValue = "id") String sort,
+			@RequestParam(defaultValue = "asc") String direction,
+			@RequestParam(required = false) String department,
+			@RequestParam(required = false) Double minSalary,
+			@RequestParam(required = false) Double maxSalary,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedFrom,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedTo,
+			WebRequest webRequest, HttpServletResponse response) throws IOException {
+		// Any committed change to the table changes the tag, so a match needs no query at all
+		String etag = employeeTableVersion.current();
+		if (webRequest.checkNotModified(etag)) {
+			// checkNotModified has already set the ETag header
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+		}
+		if (!direction.equalsIgnoreCase("asc") && !direction.equalsIgnoreCase("desc")) {
+			throw new IllegalArgumentException("direction must be 'asc' or 'desc'");
+		}
+		int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+		EmployeeQuery query = new EmployeeQuery(EmployeeSortField.fromProperty(sort),
+				direction.equalsIgnoreCase("desc"), cursor, pageSize, department, minSalary, maxSalary, joinedFrom,
+				joinedTo);
+		byte[] page = employeeJsonCache.page(query, etag);
+		response.setHeader(HttpHeaders.ETAG, "\"" + etag + "\"");
+		response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+		return writeJson(response, page);
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@GetMapping("/export")
+	public void exportEmployees(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response)
+			throws IOException {
+		EmployeeFileFormat exportFormat = EmployeeFileFormat.fromParameter(format);
+		response.setContentType(exportFormat.getContentType());
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename=\"employees." + exportFormat.getExtension() + "\"");
+		employeeExportService.export(exportFormat, response.getOutputStream());
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@GetMapping("/stats")
+	public SalaryStats.Report getSalaryStats() {
+		return salaryStatsService.report();
+	}
+
+	// Salary bands, tenure and department cross-tabs over the in-memory payroll snapshot; no query runs
+	@PreAuthorize("hasRole('ADMIN')")
+	@GetMapping("/payroll")
+	public PayrollReport getPayrollReport(@RequestParam(defaultValue = "department") List<String> groupBy,
+			@RequestParam(defaultValue = "10000") double bandWidth,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+			@RequestParam(required = false) String department,
+			@RequestParam(required = false) Double minSalary,
+			@RequestParam(required = false) Double maxSalary,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedFrom,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedTo) {
+		EnumSet<PayrollQuery.Dimension> dimensions = EnumSet.noneOf(PayrollQuery.Dimension.class);
+		groupBy.stream().filter(parameter -> !parameter.isBlank()).map(PayrollQuery.Dimension::fromParameter)
+				.forEach(dimensions::add);
+		return payrollSnapshotService.report(new PayrollQuery(department, minSalary, maxSalary, joinedFrom, joinedTo,
+				dimensions, bandWidth, asOf == null ? LocalDate.now() : asOf));
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@GetMapping("/search")
+	public EmployeeSearchResult searchEmployees(@RequestParam String q, @RequestParam(defaultValue = "0") int offset,
+			@RequestParam(defaultValue = "20") int limit) {
+		if (offset > MAX_SEARCH_OFFSET) {
+			throw new IllegalArgumentException("offset must not exceed " + MAX_SEARCH_OFFSET);
+		}
+		int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+		return employeeSearchIndex.search(q, Math.max(0, offset), pageSize);
+	}
+
+	// Live created/updated/deleted deltas for the listing, resumable with Last-Event-ID
+	@PreAuthorize("hasRole('ADMIN')")
+	@GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+		return employeeChangeFeed.subscribe(lastEventId);
 	}
 
 	@PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
 	@GetMapping("/{id}")
-	public ResponseEntity<?> getEmployeeById(@PathVariable Long id, @RequestHeader("Authorization") String token) {
+	public ResponseEntity<?> getEmployeeById(@PathVariable Long id,
+			@RequestAttribute(JwtUtil.CLAIMS_ATTRIBUTE) Claims claims, WebRequest webRequest,
+			HttpServletResponse response) throws IOException {
 
-		Optional<Employee> employeeOpt = employeeService.getEmployeeById(id);
+		EmployeeJsonCache.Detail employee = employeeJsonCache.detail(id)
+				.orElseThrow(() -> new EntityNotFoundException("Employee with ID " + id + " not found"));
 
-		if (!employeeOpt.isPresent()) {
-			throw new EntityNotFoundException("Employee with ID " + id + " not found");
-		}
-		
-		Employee employee = employeeOpt.get();
-		AppUser employeeAppUser = employee.getAppUser();
-		
-		if(employeeAppUser == null) {
+		if(employee.userId() == null) {
 			throw new IllegalStateException("No associated user found for this employee");
 		}
 		
-		String jwt = token.substring(7);
-		String loggedInUsername = jwtUtil.extractUsername(jwt);
-		
-		Optional<AppUser> loggedInUserOpt = userRepository.findByUsername(loggedInUsername);
-		if(!loggedInUserOpt.isPresent() || !loggedInUserOpt.get().getId().equals(employeeAppUser.getId())) {
+		// The caller's user id is a signed claim, so ownership needs no user lookup
+		Number loggedInUserId = claims.get(JwtUtil.USER_ID_CLAIM, Number.class);
+		if(loggedInUserId == null || loggedInUserId.longValue() != employee.userId()) {
 			throw new AccessDeniedException("Access Denied. You can only view your own profile.");
 		}
-		return ResponseEntity.ok(employee);
+		// A matching If-None-Match is answered with a 304 and no body
+		String etag = String.valueOf(employee.version());
+		if (webRequest.checkNotModified(etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+		}
+		response.setHeader(HttpHeaders.ETAG, "\"" + etag + "\"");
+		response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+		return writeJson(response, employee.json());
+	}
+
+	// Pre-serialized JSON goes straight to the response; no message converter or Jackson runs. Returns null
+	// because status, headers and body are then complete.
+	private static ResponseEntity<?> writeJson(HttpServletResponse response, byte[] json) throws IOException {
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setContentLength(json.length);
+		response.getOutputStream().write(json);
+		return null;
 	}
 
 	@PreAuthorize("hasRole('ADMIN')")
@@ -106,8 +271,85 @@ public class EmployeeController {
 		}
 		Employee savedEmployee = employeeService.createEmployee(employee);
 
-		System.out.println("Employee Created Successfully! Default password is 123");
-		return ResponseEntity.ok(savedEmployee);
+		log.debug("Employee {} created with the default password", savedEmployee.getId());
+		return ResponseEntity.ok(EmployeeDetail.of(savedEmployee));
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@PostMapping("/import")
+	public ResponseEntity<ImportResult> importEmployees(@RequestParam(defaultValue = "csv") String format,
+			HttpServletRequest request) throws IOException {
+		EmployeeFileFormat importFormat = EmployeeFileFormat.fromParameter(format);
+		ImportResult result = employeeImportService.importEmployees(importFormat, request.getReader());
+		return ResponseEntity.ok(result);
+	}
+
+	// JSON Merge Patch: only the supplied fields are validated and written
+	@PreAuthorize("hasRole('ADMIN')")
+	@PatchMapping(value = "/{id}", consumes = { "application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE })
+	public ResponseEntity<?> patchEmployee(@PathVariable Long id, @RequestBody JsonNode document,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		EmployeePatch patch = EmployeePatch.parse(document);
+		Map<String, String> errors = patch.validate(validator);
+		if (!errors.isEmpty()) {
+			return ResponseEntity.badRequest().body(errors);
+		}
+		Employee patchedEmployee = employeeService.patchEmployee(id, patch, expectedVersions(ifMatch));
+		return ResponseEntity.ok().eTag(String.valueOf(patchedEmployee.getVersion()))
+				.body(EmployeeDetail.of(patchedEmployee));
+	}
+
+	// If-Match is * or a list of entity tags ("3", "4"). RFC 9110 compares them strongly, so weak tags
+	// (W/"3") never match, nor do tags that are not one of our versions: both end in 412, not 400.
+	// Returns the versions the client accepts, or null when the request is unconditional.
+	private static Set<Long> expectedVersions(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+			return null;
+		}
+		Set<Long> versions = new HashSet<>();
+		int i = 0;
+		while (i < ifMatch.length()) {
+			char ch = ifMatch.charAt(i);
+			if (ch == ',' || ch == ' ' || ch == '\t') {
+				i++;
+				continue;
+			}
+			boolean weak = ifMatch.startsWith("W/", i);
+			int open = weak ? i + 2 : i;
+			// Tags are quoted strings that may themselves contain commas
+			int close = open < ifMatch.length() && ifMatch.charAt(open) == '"' ? ifMatch.indexOf('"', open + 1) : -1;
+			if (close < 0) {
+				throw new IllegalArgumentException("If-Match must be * or a list of entity tags");
+			}
+			if (!weak) {
+				try {
+					versions.add(Long.valueOf(ifMatch.substring(open + 1, close)));
+				} catch (NumberFormatException e) {
+					// Not one of our tags, so it cannot match the current version
+				}
+			}
+			i = close + 1;
+		}
+		return versions;
+	}
+
+	// Batch operations: one transaction of set-based statements, with an outcome per id
+	@PreAuthorize("hasRole('ADMIN')")
+	@PostMapping("/batch/department")
+	public EmployeeBatchResult moveToDepartment(@RequestBody EmployeeBatchRequest request) {
+		return employeeBatchService.moveToDepartment(request.ids(), request.department());
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@PostMapping("/batch/salary-adjustment")
+	public EmployeeBatchResult adjustSalaries(@RequestBody EmployeeBatchRequest request) {
+		return employeeBatchService.adjustSalaries(request.department(), request.percent());
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@PostMapping("/batch/delete")
+	public EmployeeBatchResult deleteEmployees(@RequestBody EmployeeBatchRequest request) {
+		return employeeBatchService.delete(request.ids());
 	}
 
 	private Map<String, String> getValidationErrors(BindingResult result) {
@@ -119,12 +361,13 @@ public class EmployeeController {
 	@PreAuthorize("hasRole('ADMIN')")
 	@PutMapping("/{id}")
 	public ResponseEntity<?> updateEmployee(@PathVariable Long id, @Valid @RequestBody Employee employee,
-			BindingResult result) {
+			BindingResult result, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 		if (result.hasErrors()) {
 			return ResponseEntity.badRequest().body(getValidationErrors(result));
 		}
-		Employee updatedEmployee = employeeService.updateEmployee(id, employee);
-		return ResponseEntity.ok(updatedEmployee);
+		Employee updatedEmployee = employeeService.updateEmployee(id, employee, expectedVersions(ifMatch));
+		return ResponseEntity.ok().eTag(String.valueOf(updatedEmployee.getVersion()))
+				.body(EmployeeDetail.of(updatedEmployee));
 	}
 
 	@PreAuthorize("hasRole('EMPLOYEE')")
@@ -181,17 +424,40 @@ public class EmployeeController {
 
 		try {
 			userRepository.save(appUser);
+			// Tokens minted with the old credentials stop working immediately
+			tokenVersions.revoke(appUser.getId());
 			// Only update Employee if necessary (e.g., if other fields changed)
 			// employeeService.updateEmployee(id, employee); // Comment out unless needed
 			return ResponseEntity.ok("Credentials updated successfully");
 		} catch (Exception e) {
-			e.printStackTrace(); // Log the full stack trace
+			log.error("Failed to update credentials for user {}", appUser.getId(), e);
 			Map<String, String> errorResponse = new HashMap<>();
 			errorResponse.put("error", "Failed to update credentials: " + e.getMessage());
 			return ResponseEntity.status(500).body(errorResponse);
 		}
 	}
 
+	// Issues a one-time random password, e.g. for imported accounts, which start without a usable one.
+	// Every token issued to the account before the reset stops working.
+	@PreAuthorize("hasRole('ADMIN')")
+	@Transactional
+	@PostMapping("/{id}/reset-password")
+	public Map<String, String> resetPassword(@PathVariable Long id) {
+		Employee employee = employeeService.getEmployeeById(id)
+				.orElseThrow(() -> new EntityNotFoundException("Employee with ID " + id + " not found"));
+		AppUser appUser = employee.getAppUser();
+		if (appUser == null) {
+			throw new IllegalStateException("No associated user found for this employee");
+		}
+		byte[] random = new byte[12];
+		PASSWORD_RANDOM.nextBytes(random);
+		String temporaryPassword = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+		appUser.setPassword(passwordEncoder.encode(temporaryPassword));
+		userRepository.save(appUser);
+		tokenVersions.revoke(appUser.getId());
+		return Map.of("temporaryPassword", temporaryPassword);
+	}
+
 	@PreAuthorize("hasRole('ADMIN')")
 	@DeleteMapping("/{id}")
 	public void deleteEmployee(@PathVariable Long id) {
@@ -0,0 +1,171 @@
+package com.example.demo.Controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.demo.Model.EmployeeFileFormat;
+import com.example.demo.Model.ReportJob;
+import com.example.demo.Model.ReportRequest;
+import com.example.demo.Model.ReportSchedule;
+import com.example.demo.Model.ReportType;
+import com.example.demo.Service.ReportJobService;
+import com.example.demo.Service.ReportScheduler;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Background reports: POST queues one and answers 202 with its status URL, which clients poll until the
+// status is DONE (or FAILED), then download the gzip file from /{id}/file, resuming with Range if needed
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+	// Tomcat's sendfile request attributes (org.apache.catalina.Globals): with NIO/NIO2 connectors the
+	// connector writes the file region to the socket itself, so the bytes never pass through the JVM heap
+	private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	private final ReportJobService reportJobService;
+	private final ReportScheduler reportScheduler;
+
+	public ReportController(ReportJobService reportJobService, ReportScheduler reportScheduler) {
+		this.reportJobService = reportJobService;
+		this.reportScheduler = reportScheduler;
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@PostMapping
+	public ResponseEntity<ReportJob> submitReport(@RequestBody ReportRequest request) {
+		ReportJob job = reportJobService.submit(ReportType.fromParameter(request.type()), format(request),
+				request.joinedFrom(), request.joinedTo(), null);
+		return ResponseEntity.accepted().location(URI.create("/api/reports/" + job.getId())).body(job);
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@GetMapping
+	public List<ReportJob> getRecentReports() {
+		return reportJobService.recent();
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@GetMapping("/{id}")
+	public ReportJob getReport(@PathVariable Long id) {
+		return findJob(id);
+	}
+
+	// Single byte ranges get 206; several ranges are answered with the whole file, which RFC 9110 allows.
+	// A job's file never changes once written, so If-Range needs no check.
+	@PreAuthorize("hasRole('ADMIN')")
+	@GetMapping("/{id}/file")
+	public ResponseEntity<?> downloadReport(@PathVariable Long id,
+			@RequestHeader(value = HttpHeaders.RANGE, required = false) String range, HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+		ReportJob job = findJob(id);
+		if (job.getStatus() != ReportJob.Status.DONE) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(new GlobalExceptionHandler.ErrorResponse(
+					HttpStatus.CONFLICT.value(), "Report Not Ready", "Report " + id + " is " + job.getStatus()));
+		}
+		Path file = reportJobService.file(job);
+		if (!Files.isRegularFile(file)) {
+			throw new EntityNotFoundException("The file of report " + id + " is no longer available");
+		}
+		long size = Files.size(file);
+		long start = 0;
+		long end = size - 1;
+		List<HttpRange> ranges = List.of();
+		if (range != null) {
+			try {
+				ranges = HttpRange.parseRanges(range);
+			} catch (IllegalArgumentException e) {
+				// A malformed Range header is ignored
+			}
+		}
+		if (ranges.size() == 1) {
+			try {
+				start = ranges.get(0).getRangeStart(size);
+				end = ranges.get(0).getRangeEnd(size);
+			} catch (IllegalArgumentException e) {
+				start = size;
+			}
+			// HttpRange accepts a first byte at or past the end (bytes=<size>-), which RFC 9110 makes a 416
+			if (start >= size || start > end) {
+				return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+						.header(HttpHeaders.CONTENT_RANGE, "bytes */" + size).build();
+			}
+			response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+			response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+		}
+		long length = end - start + 1;
+		response.setContentType("application/gzip");
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.fileName() + "\"");
+		response.setContentLengthLong(length);
+
+		if (length > 0 && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+			request.setAttribute(SENDFILE_FILENAME, file.toString());
+			request.setAttribute(SENDFILE_START, start);
+			request.setAttribute(SENDFILE_END, end + 1);
+		} else if (length > 0) {
+			// transferTo still avoids copying through a user-space buffer of our own
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+				long position = start;
+				while (position <= end) {
+					long written = channel.transferTo(position, end + 1 - position, out);
+					if (written <= 0) {
+						break;
+					}
+					position += written;
+				}
+			}
+		}
+		// Status, headers and body are already on the response
+		return null;
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@PostMapping("/schedules")
+	public ResponseEntity<ReportSchedule> createSchedule(@RequestBody ReportRequest request) {
+		ReportSchedule schedule = reportScheduler.create(ReportType.fromParameter(request.type()), format(request),
+				request.cron(), request.lookbackDays());
+		return ResponseEntity.status(HttpStatus.CREATED).body(schedule);
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@GetMapping("/schedules")
+	public List<ReportSchedule> getSchedules() {
+		return reportScheduler.list();
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@DeleteMapping("/schedules/{id}")
+	public void deleteSchedule(@PathVariable Long id) {
+		reportScheduler.delete(id);
+	}
+
+	private ReportJob findJob(Long id) {
+		return reportJobService.find(id)
+				.orElseThrow(() -> new EntityNotFoundException("Report with ID " + id + " not found"));
+	}
+
+	private static EmployeeFileFormat format(ReportRequest request) {
+		return request.format() == null ? EmployeeFileFormat.CSV : EmployeeFileFormat.fromParameter(request.format());
+	}
+}
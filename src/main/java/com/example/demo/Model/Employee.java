@@ -11,12 +11,21 @@ import jakarta.validation.constraints.Size;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
 @Entity
 @Table(name = "employees")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
+// UPDATEs list only the dirty columns, so a one-field patch writes one column (plus the version)
+@DynamicUpdate
 public class Employee {
 
+	// Sequence ids (pooled optimizer, 50 per round trip) let Hibernate batch inserts; IDENTITY cannot
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+	@SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
 	private Long id;
 
 	@NotBlank(message = "First name cannot be empty")
@@ -39,8 +48,12 @@ public class Employee {
 	@PastOrPresent(message = "Joining date must be today or in the past")
 	private LocalDate joiningDate;
 
-	// Connecting Employee to AppUser table
-	@OneToOne
+	// Optimistic locking; also the ETag of the employee resource
+	@Version
+	private Long version;
+
+	// Connecting Employee to AppUser table; the login goes away with the employee
+	@OneToOne(cascade = CascadeType.REMOVE)
 	@JoinColumn(name = "user_id", referencedColumnName = "id", unique = true)
 
 	private AppUser appUser;
@@ -75,6 +88,10 @@ public class Employee {
 		this.id = id;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
 	public String getFirstName() {
 		return firstName;
 	}
@@ -0,0 +1,7 @@
+package com.example.demo.Model;
+
+import java.util.List;
+
+// Body of the /api/employees/batch endpoints; each endpoint reads only the members it needs
+public record EmployeeBatchRequest(List<Long> ids, String department, Double percent) {
+}
@@ -0,0 +1,11 @@
+package com.example.demo.Model;
+
+import java.util.Map;
+
+// Outcome of a batch operation: rows changed and what happened to each requested or affected id
+public record EmployeeBatchResult(int affected, Map<Long, Outcome> outcomes) {
+
+	public enum Outcome {
+		UPDATED, UNCHANGED, DELETED, NOT_FOUND
+	}
+}
@@ -0,0 +1,31 @@
+package com.example.demo.Model;
+
+// Published by the service layer for every employee mutation; listeners use
+// @TransactionalEventListener so they only see committed changes.
+// before is null for CREATED, after is null for DELETED.
+public record EmployeeChangeEvent(Type type, EmployeeSnapshot before, EmployeeSnapshot after) {
+
+	public enum Type {
+		CREATED, UPDATED, DELETED
+	}
+
+	public static EmployeeChangeEvent created(Employee employee) {
+		return new EmployeeChangeEvent(Type.CREATED, null, EmployeeSnapshot.of(employee));
+	}
+
+	public static EmployeeChangeEvent updated(EmployeeSnapshot before, Employee employee) {
+		return new EmployeeChangeEvent(Type.UPDATED, before, EmployeeSnapshot.of(employee));
+	}
+
+	public static EmployeeChangeEvent updated(EmployeeSnapshot before, EmployeeSnapshot after) {
+		return new EmployeeChangeEvent(Type.UPDATED, before, after);
+	}
+
+	public static EmployeeChangeEvent deleted(EmployeeSnapshot before) {
+		return new EmployeeChangeEvent(Type.DELETED, before, null);
+	}
+
+	public Long id() {
+		return after != null ? after.id() : before.id();
+	}
+}
@@ -0,0 +1,14 @@
+package com.example.demo.Model;
+
+import java.time.LocalDate;
+
+// Single-employee response: the employee's columns plus the id of the linked login, never the user entity
+public record EmployeeDetail(Long id, String firstName, String lastName, String email, Double salary,
+		String department, LocalDate joiningDate, Long version, Long userId) {
+
+	public static EmployeeDetail of(Employee employee) {
+		return new EmployeeDetail(employee.getId(), employee.getFirstName(), employee.getLastName(),
+				employee.getEmail(), employee.getSalary(), employee.getDepartment(), employee.getJoiningDate(),
+				employee.getVersion(), employee.getAppUser() == null ? null : employee.getAppUser().getId());
+	}
+}
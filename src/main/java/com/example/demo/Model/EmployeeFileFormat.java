@@ -0,0 +1,35 @@
+package com.example.demo.Model;
+
+// Line-oriented file formats used for bulk employee import and export
+public enum EmployeeFileFormat {
+	NDJSON("application/x-ndjson", "ndjson"),
+	CSV("text/csv", "csv");
+
+	// Column order shared by CSV export and the default CSV import header
+	public static final String CSV_HEADER = "id,firstName,lastName,email,salary,department,joiningDate";
+
+	private final String contentType;
+	private final String extension;
+
+	EmployeeFileFormat(String contentType, String extension) {
+		this.contentType = contentType;
+		this.extension = extension;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	public static EmployeeFileFormat fromParameter(String value) {
+		for (EmployeeFileFormat format : values()) {
+			if (format.extension.equalsIgnoreCase(value)) {
+				return format;
+			}
+		}
+		throw new IllegalArgumentException("Unsupported file format: " + value);
+	}
+}
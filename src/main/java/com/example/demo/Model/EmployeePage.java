@@ -0,0 +1,7 @@
+package com.example.demo.Model;
+
+import java.util.List;
+
+// One slice of the employee listing; nextCursor is null on the last page
+public record EmployeePage<T>(List<T> items, String nextCursor, int limit) {
+}
@@ -0,0 +1,83 @@
+package com.example.demo.Model;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// JSON Merge Patch (RFC 7396) for one employee: members present in the document replace the field,
+// null clears it, absent members are left alone. Only the editable columns may appear.
+public final class EmployeePatch {
+
+	private final Map<String, Object> changes;
+
+	private EmployeePatch(Map<String, Object> changes) {
+		this.changes = changes;
+	}
+
+	public static EmployeePatch parse(JsonNode document) {
+		if (document == null || !document.isObject()) {
+			throw new IllegalArgumentException("A merge patch must be a JSON object");
+		}
+		Map<String, Object> changes = new LinkedHashMap<>();
+		for (Map.Entry<String, JsonNode> member : document.properties()) {
+			String field = member.getKey();
+			JsonNode value = member.getValue();
+			changes.put(field, value.isNull() ? null : switch (field) {
+			case "firstName", "lastName", "email", "department" -> text(field, value);
+			case "salary" -> {
+				if (!value.isNumber()) {
+					throw new IllegalArgumentException("salary must be a number");
+				}
+				yield value.doubleValue();
+			}
+			case "joiningDate" -> {
+				try {
+					yield LocalDate.parse(text(field, value));
+				} catch (DateTimeParseException e) {
+					throw new IllegalArgumentException("joiningDate must be an ISO date (yyyy-MM-dd)");
+				}
+			}
+			default -> throw new IllegalArgumentException("Field cannot be patched: " + field);
+			});
+		}
+		return new EmployeePatch(changes);
+	}
+
+	private static String text(String field, JsonNode value) {
+		if (!value.isTextual()) {
+			throw new IllegalArgumentException(field + " must be a string");
+		}
+		return value.textValue();
+	}
+
+	// Bean Validation for the supplied fields only, keyed like BindingResult errors
+	public Map<String, String> validate(Validator validator) {
+		Map<String, String> errors = new LinkedHashMap<>();
+		changes.forEach((field, value) -> {
+			for (ConstraintViolation<Employee> violation : validator.validateValue(Employee.class, field, value)) {
+				errors.put(field, violation.getMessage());
+			}
+		});
+		return errors;
+	}
+
+	public void applyTo(Employee employee) {
+		changes.forEach((field, value) -> {
+			switch (field) {
+			case "firstName" -> employee.setFirstName((String) value);
+			case "lastName" -> employee.setLastName((String) value);
+			case "email" -> employee.setEmail((String) value);
+			case "department" -> employee.setDepartment((String) value);
+			case "salary" -> employee.setSalary((Double) value);
+			case "joiningDate" -> employee.setJoiningDate((LocalDate) value);
+			default -> throw new IllegalStateException(field);
+			}
+		});
+	}
+}
@@ -0,0 +1,16 @@
+package com.example.demo.Model;
+
+import java.time.LocalDate;
+
+// Filters, ordering and position for one page of the employee listing
+public record EmployeeQuery(
+		EmployeeSortField sort,
+		boolean descending,
+		String cursor,
+		int limit,
+		String department,
+		Double minSalary,
+		Double maxSalary,
+		LocalDate joinedFrom,
+		LocalDate joinedTo) {
+}
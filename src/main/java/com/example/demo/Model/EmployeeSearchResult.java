@@ -0,0 +1,7 @@
+package com.example.demo.Model;
+
+import java.util.List;
+
+// One page of ranked search hits and the total number of matching employees
+public record EmployeeSearchResult(int total, List<EmployeeSnapshot> items) {
+}
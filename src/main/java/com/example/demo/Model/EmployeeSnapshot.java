@@ -0,0 +1,13 @@
+package com.example.demo.Model;
+
+import java.time.LocalDate;
+
+// Immutable copy of an employee's columns, safe to hand to listeners after the entity changes
+public record EmployeeSnapshot(Long id, String firstName, String lastName, String email, Double salary,
+		String department, LocalDate joiningDate) {
+
+	public static EmployeeSnapshot of(Employee employee) {
+		return new EmployeeSnapshot(employee.getId(), employee.getFirstName(), employee.getLastName(),
+				employee.getEmail(), employee.getSalary(), employee.getDepartment(), employee.getJoiningDate());
+	}
+}
@@ -0,0 +1,27 @@
+package com.example.demo.Model;
+
+// Columns the employee listing can be ordered by; id is always the tie-breaker
+public enum EmployeeSortField {
+	ID("id"),
+	LAST_NAME("lastName"),
+	JOINING_DATE("joiningDate");
+
+	private final String property;
+
+	EmployeeSortField(String property) {
+		this.property = property;
+	}
+
+	public String getProperty() {
+		return property;
+	}
+
+	public static EmployeeSortField fromProperty(String property) {
+		for (EmployeeSortField field : values()) {
+			if (field.property.equals(property)) {
+				return field;
+			}
+		}
+		throw new IllegalArgumentException("Unsupported sort field: " + property);
+	}
+}
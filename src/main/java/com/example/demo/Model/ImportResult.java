@@ -0,0 +1,11 @@
+package com.example.demo.Model;
+
+import java.util.List;
+import java.util.Map;
+
+// Outcome of a bulk import: rows written and, per rejected line, what was wrong with it
+public record ImportResult(int imported, int failed, List<RowError> errors) {
+
+	public record RowError(int line, String email, Map<String, String> errors) {
+	}
+}
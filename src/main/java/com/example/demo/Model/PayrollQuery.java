@@ -0,0 +1,38 @@
+package com.example.demo.Model;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+// Filters and grouping for one payroll report; null filters match everything. Tenure is counted in
+// completed years at asOf, salary bands are bandWidth wide starting at 0.
+public record PayrollQuery(
+		String department,
+		Double minSalary,
+		Double maxSalary,
+		LocalDate joinedFrom,
+		LocalDate joinedTo,
+		Set<Dimension> groupBy,
+		double bandWidth,
+		LocalDate asOf) {
+
+	public enum Dimension {
+		DEPARTMENT("department"),
+		TENURE("tenure"),
+		SALARY_BAND("salary-band");
+
+		private final String parameter;
+
+		Dimension(String parameter) {
+			this.parameter = parameter;
+		}
+
+		public static Dimension fromParameter(String parameter) {
+			for (Dimension dimension : values()) {
+				if (dimension.parameter.equalsIgnoreCase(parameter.trim())) {
+					return dimension;
+				}
+			}
+			throw new IllegalArgumentException("Unsupported groupBy: " + parameter);
+		}
+	}
+}
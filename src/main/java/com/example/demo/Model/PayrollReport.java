@@ -0,0 +1,14 @@
+package com.example.demo.Model;
+
+import java.time.Instant;
+import java.util.List;
+
+// Result of a payroll report over the in-memory snapshot taken at snapshotTakenAt. Each group carries
+// only the dimensions that were grouped by; the others are null. Salary figures cover employees with a
+// salary set, and a null tenure or salary band inside a grouped dimension means the value is missing.
+public record PayrollReport(Instant snapshotTakenAt, long scannedRows, long matchedRows, List<Group> groups) {
+
+	public record Group(String department, Integer tenureYears, Double salaryFrom, Double salaryTo, long headcount,
+			long salaryCount, double salarySum, Double meanSalary) {
+	}
+}
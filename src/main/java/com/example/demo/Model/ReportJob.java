@@ -0,0 +1,89 @@
+package com.example.demo.Model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+// One report run: QUEUED until an executor thread picks it up, then RUNNING, then DONE with the
+// compressed file on disk (see ReportJobService) or FAILED with the reason. Serialized as the status
+// document of GET /api/reports/{id}.
+@Entity
+@Table(name = "report_jobs")
+@Getter
+@Setter
+public class ReportJob {
+
+	public enum Status {
+		QUEUED, RUNNING, DONE, FAILED;
+
+		public boolean isPending() {
+			return this == QUEUED || this == RUNNING;
+		}
+	}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_jobs_seq")
+	@SequenceGenerator(name = "report_jobs_seq", sequenceName = "report_jobs_seq", allocationSize = 50)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private ReportType type;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private EmployeeFileFormat format;
+
+	private LocalDate joinedFrom;
+
+	private LocalDate joinedTo;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private Status status;
+
+	// Set when a cron schedule enqueued the job
+	private Long scheduleId;
+
+	@Column(nullable = false)
+	private Instant createdAt;
+
+	private Instant startedAt;
+
+	private Instant finishedAt;
+
+	private Long rowCount;
+
+	// Compressed bytes on disk
+	private Long fileSize;
+
+	@Column(length = 1000)
+	private String error;
+
+	public ReportJob() {
+	}
+
+	public ReportJob(ReportType type, EmployeeFileFormat format, LocalDate joinedFrom, LocalDate joinedTo,
+			Long scheduleId) {
+		this.type = type;
+		this.format = format;
+		this.joinedFrom = joinedFrom;
+		this.joinedTo = joinedTo;
+		this.scheduleId = scheduleId;
+		this.status = Status.QUEUED;
+		this.createdAt = Instant.now();
+	}
+
+	// Jobs with the same key produce the same file, so a pending one is reused instead of queued again
+	public String dedupeKey() {
+		return type + "|" + format + "|" + joinedFrom + "|" + joinedTo;
+	}
+
+	// e.g. report-51-new-joiners.csv.gz
+	public String fileName() {
+		return "report-" + id + "-" + type.getParameter() + "." + format.getExtension() + ".gz";
+	}
+}
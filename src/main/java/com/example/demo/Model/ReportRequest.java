@@ -0,0 +1,10 @@
+package com.example.demo.Model;
+
+import java.time.LocalDate;
+
+// Body of POST /api/reports and POST /api/reports/schedules. type and format take the URL parameter
+// spelling (new-joiners, csv); joinedFrom/joinedTo bound a one-off NEW_JOINERS report, while a schedule
+// uses lookbackDays (the range ending on the day it fires) and cron instead.
+public record ReportRequest(String type, String format, LocalDate joinedFrom, LocalDate joinedTo, String cron,
+		Integer lookbackDays) {
+}
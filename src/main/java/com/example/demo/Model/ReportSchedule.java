@@ -0,0 +1,49 @@
+package com.example.demo.Model;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+// Recurring report: each time the cron expression (Spring's six-field syntax, server time zone) fires,
+// a job is enqueued like a POST /api/reports would. NEW_JOINERS covers the lookbackDays days up to and
+// including the day it fires.
+@Entity
+@Table(name = "report_schedules")
+@Getter
+@Setter
+public class ReportSchedule {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "report_schedules_seq")
+	@SequenceGenerator(name = "report_schedules_seq", sequenceName = "report_schedules_seq", allocationSize = 50)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private ReportType type;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private EmployeeFileFormat format;
+
+	@Column(nullable = false)
+	private String cron;
+
+	private Integer lookbackDays;
+
+	@Column(nullable = false)
+	private Instant createdAt;
+
+	public ReportSchedule() {
+	}
+
+	public ReportSchedule(ReportType type, EmployeeFileFormat format, String cron, Integer lookbackDays) {
+		this.type = type;
+		this.format = format;
+		this.cron = cron;
+		this.lookbackDays = lookbackDays;
+		this.createdAt = Instant.now();
+	}
+}
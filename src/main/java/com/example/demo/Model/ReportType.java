@@ -0,0 +1,30 @@
+package com.example.demo.Model;
+
+// Reports that /api/reports generates in the background
+public enum ReportType {
+	// Every employee, in the export columns
+	ROSTER("roster"),
+	// Headcount, salaried headcount, salary sum and mean per department
+	DEPARTMENT_SALARIES("department-salaries"),
+	// Employees whose joining date falls in [joinedFrom, joinedTo], in the export columns
+	NEW_JOINERS("new-joiners");
+
+	private final String parameter;
+
+	ReportType(String parameter) {
+		this.parameter = parameter;
+	}
+
+	public String getParameter() {
+		return parameter;
+	}
+
+	public static ReportType fromParameter(String value) {
+		for (ReportType type : values()) {
+			if (type.parameter.equalsIgnoreCase(value)) {
+				return type;
+			}
+		}
+		throw new IllegalArgumentException("Unsupported report type: " + value);
+	}
+}
@@ -0,0 +1,12 @@
+package com.example.demo.Model;
+
+import java.util.List;
+
+// Headcount and salary statistics for one department (or "*" for the whole company, null for no department).
+// Salary figures cover employees with a salary set; percentiles are approximate.
+public record SalaryStats(String department, long headcount, long salaryCount, double sum, Double min, Double max,
+		Double mean, Double p50, Double p90, Double p99) {
+
+	public record Report(SalaryStats overall, List<SalaryStats> departments) {
+	}
+}
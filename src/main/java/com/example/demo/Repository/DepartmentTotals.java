@@ -0,0 +1,12 @@
+package com.example.demo.Repository;
+
+// Per-department GROUP BY row used to reconcile the in-memory salary aggregate
+public interface DepartmentTotals {
+	String getDepartment();
+
+	long getHeadcount();
+
+	long getSalaryCount();
+
+	Double getSalarySum();
+}
@@ -0,0 +1,20 @@
+package com.example.demo.Repository;
+
+import java.time.LocalDate;
+
+// The exported employee columns, read without the entity so no linked user row is ever loaded
+public interface EmployeeExportRow {
+	Long getId();
+
+	String getFirstName();
+
+	String getLastName();
+
+	String getEmail();
+
+	Double getSalary();
+
+	String getDepartment();
+
+	LocalDate getJoiningDate();
+}
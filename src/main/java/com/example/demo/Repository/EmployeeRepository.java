@@ -1,14 +1,108 @@
 package com.example.demo.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.example.demo.Model.Employee;
+import com.example.demo.Model.EmployeeDetail;
+import com.example.demo.Model.EmployeeSnapshot;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
 	boolean existsByEmail(String email);
+
+	// Served from the second-level cache until the employees table changes (see EntityCacheConfig).
+	// Compares the foreign key column: the derived query left joins users and scans employees.
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	@Query("select e from Employee e where e.appUser.id = :appUserId")
 	Optional<Employee> findByAppUserId(Long appUserId);
+
+	// Reads the user id from the foreign key column, so no join to users; cached like findByAppUserId
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	@Query("select new com.example.demo.Model.EmployeeDetail(e.id, e.firstName, e.lastName, e.email, e.salary, "
+			+ "e.department, e.joiningDate, e.version, e.appUser.id) from Employee e where e.id = :id")
+	Optional<EmployeeDetail> findDetailById(Long id);
+
+	@Query("select e.department as department, count(e) as headcount, count(e.salary) as salaryCount, "
+			+ "sum(e.salary) as salarySum from Employee e group by e.department")
+	List<DepartmentTotals> sumSalariesByDepartment();
+
+	@Query("select new com.example.demo.Model.EmployeeSnapshot(e.id, e.firstName, e.lastName, e.email, e.salary, "
+			+ "e.department, e.joiningDate) from Employee e")
+	Stream<EmployeeSnapshot> streamAllSnapshots();
+
+	@Query("select e.id, e.department, e.salary from Employee e")
+	Stream<Object[]> streamDepartmentSalaries();
+
+	// Payroll columns only, for PayrollSnapshotService's columnar copy; must be consumed inside a transaction
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("select e.salary, e.department, e.joiningDate from Employee e")
+	Stream<Object[]> streamPayrollColumns();
+
+	@Query("select e.email from Employee e where e.email in :emails")
+	List<String> findExistingEmails(Collection<String> emails);
+
+	// Set-based statements for EmployeeBatchService. Bulk updates bump the version themselves and clear
+	// the persistence context; Hibernate evicts the employees cache region after each of them.
+	@Query("select new com.example.demo.Model.EmployeeSnapshot(e.id, e.firstName, e.lastName, e.email, e.salary, "
+			+ "e.department, e.joiningDate) from Employee e where e.id in :ids")
+	List<EmployeeSnapshot> findSnapshotsByIdIn(Collection<Long> ids);
+
+	@Query("select new com.example.demo.Model.EmployeeSnapshot(e.id, e.firstName, e.lastName, e.email, e.salary, "
+			+ "e.department, e.joiningDate) from Employee e where e.department = :department and e.salary is not null")
+	List<EmployeeSnapshot> findSalariedSnapshotsByDepartment(String department);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Employee e set e.department = :department, e.version = e.version + 1 "
+			+ "where e.id in :ids and e.department <> :department")
+	int moveToDepartment(Collection<Long> ids, String department);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Employee e set e.salary = e.salary * :factor, e.version = e.version + 1 "
+			+ "where e.department = :department and e.salary is not null")
+	int scaleSalaries(String department, double factor);
+
+	@Query("select e.appUser.id from Employee e where e.id in :ids and e.appUser is not null")
+	List<Long> findUserIdsByIdIn(Collection<Long> ids);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from Employee e where e.id in :ids")
+	int deleteByIdIn(Collection<Long> ids);
+
+	int EXPORT_FETCH_SIZE = 500;
+
+	// Only the exported columns: selecting the entity would also load each row's eager appUser
+	String EXPORT_COLUMNS = "select e.id as id, e.firstName as firstName, e.lastName as lastName, e.email as email, "
+			+ "e.salary as salary, e.department as department, e.joiningDate as joiningDate from Employee e ";
+
+	// Forward-only cursor over the whole table for exports; must be consumed inside a transaction
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false") })
+	@Query(EXPORT_COLUMNS + "order by e.id")
+	Stream<EmployeeExportRow> streamAllForExport();
+
+	// Same cursor over one joining-date range, walked along ix_employees_joining_date_id (new joiners report)
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false") })
+	@Query(EXPORT_COLUMNS + "where e.joiningDate between :from and :to order by e.joiningDate, e.id")
+	Stream<EmployeeExportRow> streamJoinedBetweenForExport(LocalDate from, LocalDate to);
 }
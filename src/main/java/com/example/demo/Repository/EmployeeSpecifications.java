@@ -0,0 +1,63 @@
+package com.example.demo.Repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.EmployeeQuery;
+import com.example.demo.Model.EmployeeSortField;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+public final class EmployeeSpecifications {
+
+	private EmployeeSpecifications() {
+	}
+
+	// Filters from the listing query; null bounds are simply skipped
+	public static Specification<Employee> matching(EmployeeQuery query) {
+		return (root, cq, cb) -> {
+			Predicate predicate = cb.conjunction();
+			if (query.department() != null) {
+				predicate = cb.and(predicate, cb.equal(root.get("department"), query.department()));
+			}
+			if (query.minSalary() != null) {
+				predicate = cb.and(predicate, cb.greaterThanOrEqualTo(root.get("salary"), query.minSalary()));
+			}
+			if (query.maxSalary() != null) {
+				predicate = cb.and(predicate, cb.lessThanOrEqualTo(root.get("salary"), query.maxSalary()));
+			}
+			if (query.joinedFrom() != null) {
+				predicate = cb.and(predicate, cb.greaterThanOrEqualTo(root.<LocalDate>get("joiningDate"), query.joinedFrom()));
+			}
+			if (query.joinedTo() != null) {
+				predicate = cb.and(predicate, cb.lessThanOrEqualTo(root.<LocalDate>get("joiningDate"), query.joinedTo()));
+			}
+			return predicate;
+		};
+	}
+
+	// Seek predicate: rows strictly after (value, id) in the listing order.
+	// NULLs sort lowest, i.e. first when ascending and last when descending.
+	public static <V extends Comparable<? super V>> Specification<Employee> after(EmployeeSortField sort,
+			boolean descending, V value, Long id) {
+		return (root, cq, cb) -> {
+			Path<Long> idPath = root.get("id");
+			Predicate idAfter = descending ? cb.lessThan(idPath, id) : cb.greaterThan(idPath, id);
+			if (sort == EmployeeSortField.ID) {
+				return idAfter;
+			}
+
+			Path<V> field = root.get(sort.getProperty());
+			if (value == null) {
+				Predicate sameBucket = cb.and(cb.isNull(field), idAfter);
+				return descending ? sameBucket : cb.or(sameBucket, cb.isNotNull(field));
+			}
+			Predicate beyond = descending ? cb.lessThan(field, value) : cb.greaterThan(field, value);
+			Predicate seek = cb.or(beyond, cb.and(cb.equal(field, value), idAfter));
+			return descending ? cb.or(seek, cb.isNull(field)) : seek;
+		};
+	}
+}
@@ -0,0 +1,22 @@
+package com.example.demo.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.example.demo.Model.ReportJob;
+
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+	// Jobs a previous run left queued or running, resubmitted at startup
+	List<ReportJob> findByStatusIn(Collection<ReportJob.Status> statuses);
+
+	// Finished jobs past retention; their files are deleted with them
+	@Query("select j from ReportJob j where j.finishedAt < :cutoff")
+	List<ReportJob> findFinishedBefore(Instant cutoff);
+
+	List<ReportJob> findTop100ByOrderByIdDesc();
+}
@@ -0,0 +1,8 @@
+package com.example.demo.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.example.demo.Model.ReportSchedule;
+
+public interface ReportScheduleRepository extends JpaRepository<ReportSchedule, Long> {
+}
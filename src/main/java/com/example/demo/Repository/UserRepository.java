@@ -2,9 +2,26 @@ package com.example.demo.Repository;
 
 
 import com.example.demo.Model.AppUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<AppUser, Long> {
+    // Served from the second-level cache until the users table changes (see EntityCacheConfig)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<AppUser> findByUsername(String username);
+
+    @Query("select u.username from AppUser u where u.username in :usernames")
+    List<String> findExistingUsernames(Collection<String> usernames);
+
+    // Logins of deleted employees; run after the employees rows referencing them are gone
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from AppUser u where u.id in :ids")
+    int deleteByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,76 @@
+package com.example.demo.Security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Authentication meters: security.jwt.validation (outcome=cached|verified|rejected), security.user.lookup,
+// and security.auth.failures by cause, fed by JwtUtil/JwtFilter for tokens and by Spring Security's
+// authentication failure events for logins. BCrypt has its own meters (see BoundedPasswordEncoder).
+@Component
+public class AuthMetrics {
+
+	static final String MISSING_TOKEN = "missing_token";
+	static final String REVOKED_TOKEN = "revoked_token";
+	static final String EXPIRED_TOKEN = "expired_token";
+	static final String INVALID_SIGNATURE = "invalid_signature";
+	static final String MALFORMED_TOKEN = "malformed_token";
+	static final String INVALID_TOKEN = "invalid_token";
+	static final String AUTHENTICATION_ERROR = "authentication_error";
+
+	private final MeterRegistry meterRegistry;
+	private final Timer tokenCached;
+	private final Timer tokenVerified;
+	private final Timer tokenRejected;
+	private final Timer userLookup;
+
+	public AuthMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+		this.tokenCached = tokenTimer("cached");
+		this.tokenVerified = tokenTimer("verified");
+		this.tokenRejected = tokenTimer("rejected");
+		this.userLookup = Timer.builder("security.user.lookup")
+				.description("Loading an AppUser by username during login")
+				.register(meterRegistry);
+	}
+
+	private Timer tokenTimer(String outcome) {
+		return Timer.builder("security.jwt.validation")
+				.description("Resolving a bearer token to verified claims")
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+
+	void recordTokenValidation(long startNanos, boolean cached, boolean accepted) {
+		Timer timer = !accepted ? tokenRejected : cached ? tokenCached : tokenVerified;
+		timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+	public <T> T timeUserLookup(Supplier<T> lookup) {
+		return userLookup.record(lookup);
+	}
+
+	public void failure(String cause) {
+		// Failure path only, so resolving the counter from the registry each time is fine
+		Counter.builder("security.auth.failures")
+				.description("Rejected authentication attempts")
+				.tag("cause", cause)
+				.register(meterRegistry)
+				.increment();
+	}
+
+	@EventListener
+	public void onAuthenticationFailure(AbstractAuthenticationFailureEvent event) {
+		// Unknown usernames surface as bad credentials too (Spring Security hides which part was wrong)
+		failure(event.getException() instanceof BadCredentialsException ? "bad_credentials"
+				: event.getException().getClass().getSimpleName());
+	}
+}
@@ -0,0 +1,136 @@
+package com.example.demo.Security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Runs BCrypt on a dedicated, bounded pool so a login storm cannot occupy every request thread
+// and core. When the queue is full, callers fail fast with PasswordHashingBusyException.
+// A caller that times out gets the same exception. If its hash has not started, it is taken off the
+// queue. If it has started, it cannot be stopped, since BCrypt never checks for interruption. It keeps
+// its thread until done and is counted in security.password.abandoned, so timeouts do not free
+// capacity. Size max-wait-ms so that a hash accepted into the queue finishes in time.
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+	private final BCryptPasswordEncoder delegate;
+	private final ThreadPoolExecutor executor;
+	private final long waitMillis;
+	private final Timer encodeTimer;
+	private final Timer matchesTimer;
+	private final Counter rejected;
+	private final Counter abandoned;
+
+	public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long waitMillis,
+			MeterRegistry meterRegistry) {
+		this.delegate = new BCryptPasswordEncoder(strength);
+		this.waitMillis = waitMillis;
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "bcrypt-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+
+		this.encodeTimer = Timer.builder("security.password.hash").tag("operation", "encode")
+				.register(meterRegistry);
+		this.matchesTimer = Timer.builder("security.password.hash").tag("operation", "matches")
+				.register(meterRegistry);
+		this.rejected = Counter.builder("security.password.rejected").register(meterRegistry);
+		this.abandoned = Counter.builder("security.password.abandoned")
+				.description("Hashes still running when their caller timed out").register(meterRegistry);
+		Gauge.builder("security.password.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+		Gauge.builder("security.password.active", executor, ThreadPoolExecutor::getActiveCount)
+				.register(meterRegistry);
+		Gauge.builder("security.password.strength", () -> strength).register(meterRegistry);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	private <T> T submit(Callable<T> task) {
+		// Claimed by whichever comes first: the pool thread starting the hash or the caller giving up
+		AtomicBoolean claimed = new AtomicBoolean();
+		Future<T> future;
+		try {
+			future = executor.submit(() -> claimed.compareAndSet(false, true) ? task.call() : null);
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			throw new PasswordHashingBusyException("Password hashing capacity exhausted, retry shortly");
+		}
+		try {
+			return future.get(waitMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			if (claimed.compareAndSet(false, true)) {
+				// Still queued: free its slot now
+				executor.remove((Runnable) future);
+			} else {
+				abandoned.increment();
+			}
+			rejected.increment();
+			throw new PasswordHashingBusyException("Password hashing timed out, retry shortly");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+
+	// Highest BCrypt strength in [minStrength, maxStrength] whose encode time on this machine stays
+	// within the target; never below minStrength even on slow hardware
+	public static int calibrateStrength(long targetMillis, int minStrength, int maxStrength) {
+		int chosen = minStrength;
+		for (int strength = minStrength; strength <= maxStrength; strength++) {
+			BCryptPasswordEncoder candidate = new BCryptPasswordEncoder(strength);
+			candidate.encode("calibration"); // warm-up
+			long start = System.nanoTime();
+			candidate.encode("calibration");
+			long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			if (elapsedMillis > targetMillis) {
+				break;
+			}
+			chosen = strength;
+			// Each step doubles the cost, so stop before a single probe would exceed the target twice over
+			if (elapsedMillis * 2 > targetMillis) {
+				break;
+			}
+		}
+		return chosen;
+	}
+}
@@ -6,14 +6,14 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -23,12 +23,17 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TokenVersionRegistry tokenVersions;
+    private final AuthMetrics metrics;
+    private final ObjectMapper objectMapper;
 
-    public JwtFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    // objectMapper is the application's shared mapper (see JacksonConfig)
+    public JwtFilter(JwtUtil jwtUtil, TokenVersionRegistry tokenVersions, AuthMetrics metrics,
+            ObjectMapper objectMapper) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+        this.tokenVersions = tokenVersions;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -46,6 +51,7 @@ public class JwtFilter extends OncePerRequestFilter {
         final String authorizationHeader = request.getHeader("Authorization");
 
         if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            metrics.failure(AuthMetrics.MISSING_TOKEN);
             sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, 
                     "Authorization header is missing or has invalid format");
             return;
@@ -54,30 +60,37 @@ public class JwtFilter extends OncePerRequestFilter {
         String jwt = authorizationHeader.substring(7);
 
         try {
-            if (!jwtUtil.validateToken(jwt)) {
-                sendErrorResponse(response, HttpServletResponse.SC_FORBIDDEN, "Invalid JWT token");
+            // Single verification per request; downstream code reads the claims from the request
+            Claims claims = jwtUtil.parseClaims(jwt);
+            request.setAttribute(JwtUtil.CLAIMS_ATTRIBUTE, claims);
+            
+            // Identity and role come from the signed claims: no user lookup on the request path
+            JwtPrincipal principal = jwtUtil.toPrincipal(claims);
+            Integer tokenVersion = claims.get(JwtUtil.VERSION_CLAIM, Integer.class);
+            if (tokenVersion == null || tokenVersions.current(principal.userId()) != tokenVersion) {
+                metrics.failure(AuthMetrics.REVOKED_TOKEN);
+                sendErrorResponse(response, HttpServletResponse.SC_FORBIDDEN, "Token has been revoked");
                 return;
             }
             
-            String username = jwtUtil.extractUsername(jwt);
-            
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
+            if (principal.username() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        principal, null,
+                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.role().name())));
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
                 
                 filterChain.doFilter(request, response);
             } else {
+                metrics.failure(AuthMetrics.INVALID_TOKEN);
                 sendErrorResponse(response, HttpServletResponse.SC_FORBIDDEN, 
                         "Could not set user authentication in security context");
             }
         } catch (JwtException e) {
             sendErrorResponse(response, HttpServletResponse.SC_FORBIDDEN, e.getMessage());
         } catch (Exception e) {
+            metrics.failure(AuthMetrics.AUTHENTICATION_ERROR);
             sendErrorResponse(response, HttpServletResponse.SC_FORBIDDEN, 
                     "Authentication error: " + e.getMessage());
         }
@@ -94,7 +107,6 @@ public class JwtFilter extends OncePerRequestFilter {
         errorDetails.put("timestamp", System.currentTimeMillis());
         errorDetails.put("path", "authentication");
         
-        String jsonResponse = objectMapper.writeValueAsString(errorDetails);
-        response.getWriter().write(jsonResponse);
+        objectMapper.writeValue(response.getOutputStream(), errorDetails);
     }
 }
@@ -0,0 +1,14 @@
+package com.example.demo.Security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import com.example.demo.Model.Role;
+
+// Authenticated caller as described by the signed token claims; employeeId is null for admins
+public record JwtPrincipal(Long userId, String username, Role role, Long employeeId) implements AuthenticatedPrincipal {
+
+	@Override
+	public String getName() {
+		return username;
+	}
+}
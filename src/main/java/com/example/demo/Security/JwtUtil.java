@@ -1,91 +1,194 @@
 package com.example.demo.Security;
 
+import com.example.demo.Model.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.io.DecodingException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import javax.crypto.SecretKey;
 
 @Component
 public class JwtUtil {
 //    private final String SECRET_KEY = "your_secret_key";
-	
-	@Value("${jwt_secret}")
-	private String secret;
 
-    // Convert the secret string to a SecretKey for HMAC - SHA256
-	private SecretKey getSigningKey() {
-		return Keys.hmacShaKeyFor(secret.getBytes());
+	private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
+
+	// Request attribute under which JwtFilter stores the verified claims of the current request
+	public static final String CLAIMS_ATTRIBUTE = "com.example.demo.Security.JwtUtil.claims";
+
+	// Key and parser are immutable and thread-safe, so they are built once
+	private final SecretKey signingKey;
+	private final JwtParser parser;
+
+	// Verified tokens keyed by SHA-256 of the whole token (signature included). Bounded to cacheSize, with
+	// each entry expiring at its token's exp; null when caching is off (cacheSize 0).
+	private final Cache<String, Claims> verifiedTokens;
+	private final AuthMetrics metrics;
+
+	public JwtUtil(@Value("${jwt_secret}") String secret, @Value("${jwt.cache-size:10000}") int cacheSize,
+			AuthMetrics metrics) {
+		this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+		this.parser = Jwts.parser().verifyWith(signingKey).build();
+		this.verifiedTokens = cacheSize > 0
+				? Caffeine.newBuilder().maximumSize(cacheSize).expireAfter(new UntilTokenExpires()).build()
+				: null;
+		this.metrics = metrics;
 	}
-	
+
+	private static final class UntilTokenExpires implements Expiry<String, Claims> {
+		@Override
+		public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+			long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+		}
+
+		@Override
+		public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+
+		@Override
+		public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+
+	// Claim names carried by every token so requests authenticate without a user lookup
+	public static final String ROLE_CLAIM = "role";
+	public static final String USER_ID_CLAIM = "uid";
+	public static final String EMPLOYEE_ID_CLAIM = "eid";
+	public static final String VERSION_CLAIM = "ver";
+
 	// Generate the JWT token
-	public String generateToken(String username) {
+	public String generateToken(String username, Long userId, Role role, Long employeeId, int tokenVersion) {
 		long expirationTime = 1000*60*60; // 1 hr in milli-seconds
 		
 		return Jwts.builder()
 				.subject(username)
+				.claim(USER_ID_CLAIM, userId)
+				.claim(ROLE_CLAIM, role.name())
+				.claim(EMPLOYEE_ID_CLAIM, employeeId)
+				.claim(VERSION_CLAIM, tokenVersion)
 				.issuedAt(new Date())
 				.expiration(new Date(System.currentTimeMillis() + expirationTime))
-				.signWith(getSigningKey(), Jwts.SIG.HS256)
+				.signWith(signingKey, Jwts.SIG.HS256)
 				.compact();
 	}
-	
+
+	// Verify the token once and return its claims; repeat calls with the same token until
+	// it expires are answered from the cache without re-parsing or re-checking the signature
+	public Claims parseClaims(String token) {
+		long start = System.nanoTime();
+		String digest = verifiedTokens == null ? null : digest(token);
+		// An entry past its exp is already gone, so an expired token always goes through verify
+		Claims cached = digest == null ? null : verifiedTokens.getIfPresent(digest);
+		if (cached != null) {
+			metrics.recordTokenValidation(start, true, true);
+			return cached;
+		}
+
+		Claims claims;
+		try {
+			claims = verify(token);
+		} catch(JwtException e) {
+			metrics.recordTokenValidation(start, false, false);
+			throw e;
+		}
+		if (digest != null && claims.getExpiration() != null) {
+			verifiedTokens.put(digest, claims);
+		}
+		metrics.recordTokenValidation(start, false, true);
+		return claims;
+	}
+
+	// Principal described by already verified claims
+	public JwtPrincipal toPrincipal(Claims claims) {
+		Number userId = claims.get(USER_ID_CLAIM, Number.class);
+		Number employeeId = claims.get(EMPLOYEE_ID_CLAIM, Number.class);
+		if (userId == null || claims.get(ROLE_CLAIM) == null) {
+			metrics.failure(AuthMetrics.INVALID_TOKEN);
+			throw new JwtException("Token is missing required claims");
+		}
+		return new JwtPrincipal(userId.longValue(), claims.getSubject(),
+				Role.valueOf(claims.get(ROLE_CLAIM, String.class)),
+				employeeId == null ? null : employeeId.longValue());
+	}
+
 	// Validate the JWT Token with specific error messages
     public boolean validateToken(String token) {
+        parseClaims(token);
+        return true;
+    }
+	
+	
+	// Extract username from the token
+    public String extractUsername(String token) {
+        try {
+            return parseClaims(token).getSubject();
+        } catch(JwtException e) {
+            try {
+                parser.parseSignedClaims(token);
+            } catch(ExpiredJwtException expired) {
+                // Special case: if token is expired but we still want to extract the username
+                log.debug("Token is expired but extracting username anyway");
+                return expired.getClaims().getSubject();
+            } catch(JwtException ignored) {
+                // fall through to the original error
+            }
+            log.debug("Token is invalid: {}", e.getMessage());
+            throw new JwtException("Cannot extract username: " + e.getMessage());
+        }
+    }
+
+    // Failures are counted by cause and logged at debug level only
+    private Claims verify(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
-            
-            System.out.println("Token is validated Successfully");
-            return true;
+            return parser.parseSignedClaims(token).getPayload();
         } catch(ExpiredJwtException e) {
-            System.out.println("Token has expired: " + e.getMessage());
-            throw new JwtException("Token has expired");
+            throw rejected(AuthMetrics.EXPIRED_TOKEN, "Token has expired", e);
         } catch(SecurityException e) {
-            System.out.println("Invalid JWT signature: " + e.getMessage());
-            throw new JwtException("Invalid JWT signature");
+            throw rejected(AuthMetrics.INVALID_SIGNATURE, "Invalid JWT signature", e);
         } catch(MalformedJwtException e) {
-            System.out.println("Invalid JWT token: " + e.getMessage());
-            throw new JwtException("Invalid JWT token format");
+            throw rejected(AuthMetrics.MALFORMED_TOKEN, "Invalid JWT token format", e);
         } catch(DecodingException e) {
-            System.out.println("JWT decoding failed: " + e.getMessage());
-            throw new JwtException("JWT decoding failed");
+            throw rejected(AuthMetrics.MALFORMED_TOKEN, "JWT decoding failed", e);
         } catch(JwtException e) {
-            System.out.println("Error in token validation: " + e.getMessage());
-            throw new JwtException("JWT validation error: " + e.getMessage());
+            throw rejected(AuthMetrics.INVALID_TOKEN, "JWT validation error: " + e.getMessage(), e);
         } catch(Exception e) {
-            System.out.println("Unexpected error in token validation: " + e.getMessage());
-            throw new JwtException("Unexpected error in token validation");
+            throw rejected(AuthMetrics.AUTHENTICATION_ERROR, "Unexpected error in token validation", e);
         }
     }
-	
-	
-	// Extract username from the token
-    public String extractUsername(String token) {
+
+    private JwtException rejected(String cause, String message, Exception e) {
+        metrics.failure(cause);
+        log.debug("{}: {}", message, e.getMessage());
+        return new JwtException(message);
+    }
+
+    private static String digest(String token) {
         try {
-            Claims claims = Jwts.parser()
-                            .verifyWith(getSigningKey())
-                            .build()
-                            .parseSignedClaims(token)
-                            .getPayload();
-            
-            System.out.println("Username extracted from the token");
-            return claims.getSubject();
-        } catch(ExpiredJwtException e) {
-            // Special case: if token is expired but we still want to extract the username
-            System.out.println("Token is expired but extracting username anyway");
-            return e.getClaims().getSubject();
-        } catch(JwtException e) {
-            System.out.println("Token is invalid: " + e.getMessage());
-            throw new JwtException("Cannot extract username: " + e.getMessage());
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch(NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
 }
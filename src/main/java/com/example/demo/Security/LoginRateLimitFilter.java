@@ -0,0 +1,182 @@
+package com.example.demo.Security;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Sits ahead of JwtFilter and AuthController.login: throttled logins get 429 with Retry-After before
+// the body reaches Jackson data binding or the password encoder. The body is buffered (login payloads
+// are tiny) so the username can be read here and the controller still sees the full request.
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    static final int MAX_BODY_BYTES = 4096;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoginRateLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    // objectMapper is the application's shared mapper (see JacksonConfig)
+    public LoginRateLimitFilter(LoginRateLimiter limiter, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !"/api/auth/login".equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        byte[] body = readBody(request);
+        if (body.length > MAX_BODY_BYTES) {
+            sendErrorResponse(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "Payload Too Large",
+                    "Login request body is too large");
+            return;
+        }
+
+        long wait = limiter.tryAcquire(request.getRemoteAddr(), username(body));
+        if (wait != LoginRateLimiter.ADMITTED) {
+            long seconds = Math.max(1, (wait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+            sendErrorResponse(response, HttpStatus.TOO_MANY_REQUESTS.value(), "Too Many Requests",
+                    "Too many login attempts, retry in " + seconds + " s");
+            return;
+        }
+        try {
+            filterChain.doFilter(new BufferedBodyRequest(request, body), response);
+        } finally {
+            limiter.release();
+        }
+    }
+
+    // Exactly Content-Length bytes when the client sent one, so small bodies need no scratch buffer
+    private static byte[] readBody(HttpServletRequest request) throws IOException {
+        int length = request.getContentLength();
+        if (length < 0 || length > MAX_BODY_BYTES) {
+            return request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        }
+        byte[] body = new byte[length];
+        int read = request.getInputStream().readNBytes(body, 0, length);
+        return read == length ? body : Arrays.copyOf(body, read);
+    }
+
+    // Top-level "username" string of the JSON body, or null; malformed bodies are rejected later by the controller
+    String username(byte[] body) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("username".equals(field)) {
+                    return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void sendErrorResponse(HttpServletResponse response, int status, String error, String message)
+            throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("status", status);
+        errorDetails.put("error", error);
+        errorDetails.put("message", message);
+        errorDetails.put("timestamp", System.currentTimeMillis());
+        errorDetails.put("path", "/api/auth/login");
+
+        response.getWriter().write(objectMapper.writeValueAsString(errorDetails));
+    }
+
+    // Replays the buffered body to the rest of the chain
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.demo.Security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Admission control for logins, checked before any BCrypt work: a token bucket per client address and
+// per username, plus a cap on logins in flight. Buckets are lock-free (one CAS per check) and live in a
+// bounded map; a bucket that has refilled completely carries no state and is evicted when the map fills.
+public class LoginRateLimiter {
+
+	public static final long ADMITTED = 0;
+
+	// Wait suggested when only the in-flight cap is exceeded; it frees up within one hash
+	private static final long BUSY_RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final KeyedBuckets perAddress;
+	private final KeyedBuckets perUsername;
+	private final Semaphore inFlight;
+	private final Counter throttledAddress;
+	private final Counter throttledUsername;
+	private final Counter throttledConcurrency;
+
+	public LoginRateLimiter(int addressCapacity, double addressPerMinute, int usernameCapacity,
+			double usernamePerMinute, int maxKeys, int maxConcurrent, MeterRegistry meterRegistry) {
+		this.perAddress = new KeyedBuckets(addressCapacity, addressPerMinute, maxKeys);
+		this.perUsername = new KeyedBuckets(usernameCapacity, usernamePerMinute, maxKeys);
+		this.inFlight = new Semaphore(maxConcurrent);
+
+		this.throttledAddress = throttled("address", meterRegistry);
+		this.throttledUsername = throttled("username", meterRegistry);
+		this.throttledConcurrency = throttled("concurrency", meterRegistry);
+		Gauge.builder("security.login.rate-limit.keys", perAddress.buckets, ConcurrentHashMap::size)
+				.tag("scope", "address").register(meterRegistry);
+		Gauge.builder("security.login.rate-limit.keys", perUsername.buckets, ConcurrentHashMap::size)
+				.tag("scope", "username").register(meterRegistry);
+		Gauge.builder("security.login.rate-limit.overflow", this, limiter -> limiter.perAddress.overflow.get()
+				+ limiter.perUsername.overflow.get()).register(meterRegistry);
+	}
+
+	private static Counter throttled(String reason, MeterRegistry meterRegistry) {
+		return Counter.builder("security.login.throttled").description("Logins answered with 429 before hashing")
+				.tag("reason", reason).register(meterRegistry);
+	}
+
+	// Returns ADMITTED, after which the caller must release(), or the nanoseconds to wait before retrying.
+	// A missing username (unparseable body) is only limited by address and concurrency.
+	public long tryAcquire(String address, String username) {
+		long now = System.nanoTime();
+		long wait = perAddress.take(address, now);
+		if (wait != ADMITTED) {
+			throttledAddress.increment();
+			return wait;
+		}
+		if (username != null) {
+			wait = perUsername.take(username, now);
+			if (wait != ADMITTED) {
+				throttledUsername.increment();
+				return wait;
+			}
+		}
+		if (!inFlight.tryAcquire()) {
+			throttledConcurrency.increment();
+			return BUSY_RETRY_NANOS;
+		}
+		return ADMITTED;
+	}
+
+	public void release() {
+		inFlight.release();
+	}
+
+	// Token buckets kept as their "theoretical arrival time" (GCRA): the instant the bucket would be full
+	// again. Taking a token moves it one interval forward; the bucket is empty once it is more than
+	// capacity intervals ahead of now.
+	static final class KeyedBuckets {
+
+		private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+		private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+		private final long intervalNanos;
+		private final long burstNanos;
+		private final int maxKeys;
+		private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+		private final AtomicLong overflow = new AtomicLong();
+
+		KeyedBuckets(int capacity, double perMinute, int maxKeys) {
+			if (capacity < 1 || perMinute <= 0 || maxKeys < 1) {
+				throw new IllegalArgumentException("Rate limit capacity, refill rate and key count must be positive");
+			}
+			this.intervalNanos = (long) (TimeUnit.MINUTES.toNanos(1) / perMinute);
+			this.burstNanos = intervalNanos * capacity;
+			this.maxKeys = maxKeys;
+		}
+
+		long take(String key, long now) {
+			AtomicLong bucket = buckets.get(key);
+			if (bucket == null) {
+				if (buckets.size() >= maxKeys && !sweep(now)) {
+					// Every tracked key is active: admit untracked rather than fail closed for everyone,
+					// the other limits still apply
+					overflow.incrementAndGet();
+					return ADMITTED;
+				}
+				bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+			}
+			while (true) {
+				long full = bucket.get();
+				long next = Math.max(full, now) + intervalNanos;
+				long wait = next - now - burstNanos;
+				if (wait > 0) {
+					return wait;
+				}
+				if (bucket.compareAndSet(full, next)) {
+					return ADMITTED;
+				}
+			}
+		}
+
+		// Drops refilled buckets, at most once per second so a flood of new keys cannot turn every
+		// check into a full scan. A token taken concurrently from a bucket being dropped is forgiven.
+		private boolean sweep(long now) {
+			long last = lastSweep.get();
+			if (now - last >= SWEEP_INTERVAL_NANOS && lastSweep.compareAndSet(last, now)) {
+				buckets.values().removeIf(bucket -> bucket.get() <= now);
+			}
+			return buckets.size() < maxKeys;
+		}
+	}
+}
@@ -0,0 +1,9 @@
+package com.example.demo.Security;
+
+// Thrown when the password hashing pool is saturated; answered with 503 and Retry-After
+public class PasswordHashingBusyException extends RuntimeException {
+
+	public PasswordHashingBusyException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,23 @@
+package com.example.demo.Security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+// Per-user token generation counter. Tokens carry the version current when they were minted;
+// bumping it (credential change, account removal) invalidates every token issued before.
+// Held in memory on this node only: a restart resets all users to version 0.
+@Component
+public class TokenVersionRegistry {
+
+	private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+	public int current(Long userId) {
+		return versions.getOrDefault(userId, 0);
+	}
+
+	public void revoke(Long userId) {
+		versions.merge(userId, 1, Integer::sum);
+	}
+}
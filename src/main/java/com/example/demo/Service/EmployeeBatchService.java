@@ -0,0 +1,144 @@
+package com.example.demo.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.Model.EmployeeBatchResult;
+import com.example.demo.Model.EmployeeBatchResult.Outcome;
+import com.example.demo.Model.EmployeeChangeEvent;
+import com.example.demo.Model.EmployeeSnapshot;
+import com.example.demo.Repository.EmployeeRepository;
+import com.example.demo.Repository.UserRepository;
+import com.example.demo.Security.TokenVersionRegistry;
+
+// Reorg-sized changes as set-based statements in one transaction: per chunk of ids, one SELECT of the
+// before images (change listeners need them), then one bulk UPDATE or DELETE, instead of a load and a
+// write per employee. Change events are still published per row.
+@Service
+public class EmployeeBatchService {
+
+	public static final int MAX_IDS = 10_000;
+	private static final int IN_CLAUSE_CHUNK = 1000;
+
+	private final EmployeeRepository employeeRepository;
+	private final UserRepository userRepository;
+	private final TokenVersionRegistry tokenVersions;
+	private final ApplicationEventPublisher eventPublisher;
+
+	public EmployeeBatchService(EmployeeRepository employeeRepository, UserRepository userRepository,
+			TokenVersionRegistry tokenVersions, ApplicationEventPublisher eventPublisher) {
+		this.employeeRepository = employeeRepository;
+		this.userRepository = userRepository;
+		this.tokenVersions = tokenVersions;
+		this.eventPublisher = eventPublisher;
+	}
+
+	@Transactional
+	public EmployeeBatchResult moveToDepartment(List<Long> ids, String department) {
+		if (department == null || department.isBlank()) {
+			throw new IllegalArgumentException("department name cannot be empty");
+		}
+		Map<Long, Outcome> outcomes = notFound(ids);
+		int affected = 0;
+		for (List<Long> chunk : chunks(outcomes)) {
+			Map<Long, EmployeeSnapshot> before = snapshotsById(chunk);
+			affected += employeeRepository.moveToDepartment(chunk, department);
+			for (EmployeeSnapshot employee : before.values()) {
+				if (department.equals(employee.department())) {
+					outcomes.put(employee.id(), Outcome.UNCHANGED);
+					continue;
+				}
+				outcomes.put(employee.id(), Outcome.UPDATED);
+				EmployeeSnapshot after = new EmployeeSnapshot(employee.id(), employee.firstName(),
+						employee.lastName(), employee.email(), employee.salary(), department, employee.joiningDate());
+				eventPublisher.publishEvent(EmployeeChangeEvent.updated(employee, after));
+			}
+		}
+		return new EmployeeBatchResult(affected, outcomes);
+	}
+
+	// Employees without a salary are left alone; the new salaries are read back so events carry the
+	// values the database computed
+	@Transactional
+	public EmployeeBatchResult adjustSalaries(String department, Double percent) {
+		if (department == null || department.isBlank()) {
+			throw new IllegalArgumentException("department name cannot be empty");
+		}
+		if (percent == null || percent <= -100) {
+			throw new IllegalArgumentException("percent must be greater than -100");
+		}
+		Map<Long, EmployeeSnapshot> before = employeeRepository.findSalariedSnapshotsByDepartment(department).stream()
+				.collect(Collectors.toMap(EmployeeSnapshot::id, Function.identity()));
+		int affected = employeeRepository.scaleSalaries(department, 1 + percent / 100);
+		Map<Long, Outcome> outcomes = new LinkedHashMap<>();
+		for (EmployeeSnapshot after : employeeRepository.findSalariedSnapshotsByDepartment(department)) {
+			EmployeeSnapshot previous = before.get(after.id());
+			if (previous != null) {
+				outcomes.put(after.id(), Outcome.UPDATED);
+				eventPublisher.publishEvent(EmployeeChangeEvent.updated(previous, after));
+			}
+		}
+		return new EmployeeBatchResult(affected, outcomes);
+	}
+
+	// Deletes the employees and their logins; outstanding tokens of those logins stop working at once
+	@Transactional
+	public EmployeeBatchResult delete(List<Long> ids) {
+		Map<Long, Outcome> outcomes = notFound(ids);
+		int affected = 0;
+		for (List<Long> chunk : chunks(outcomes)) {
+			Map<Long, EmployeeSnapshot> before = snapshotsById(chunk);
+			List<Long> userIds = employeeRepository.findUserIdsByIdIn(chunk);
+			affected += employeeRepository.deleteByIdIn(chunk);
+			if (!userIds.isEmpty()) {
+				userRepository.deleteByIdIn(userIds);
+				userIds.forEach(tokenVersions::revoke);
+			}
+			for (EmployeeSnapshot employee : before.values()) {
+				outcomes.put(employee.id(), Outcome.DELETED);
+				eventPublisher.publishEvent(EmployeeChangeEvent.deleted(employee));
+			}
+		}
+		return new EmployeeBatchResult(affected, outcomes);
+	}
+
+	// Requested ids in order, without duplicates, all NOT_FOUND until a statement touches them
+	private static Map<Long, Outcome> notFound(List<Long> ids) {
+		if (ids == null || ids.isEmpty()) {
+			throw new IllegalArgumentException("ids must not be empty");
+		}
+		if (ids.size() > MAX_IDS) {
+			throw new IllegalArgumentException("At most " + MAX_IDS + " ids per batch");
+		}
+		Map<Long, Outcome> outcomes = new LinkedHashMap<>();
+		for (Long id : ids) {
+			if (id == null) {
+				throw new IllegalArgumentException("ids must not contain null");
+			}
+			outcomes.put(id, Outcome.NOT_FOUND);
+		}
+		return outcomes;
+	}
+
+	private static List<List<Long>> chunks(Map<Long, Outcome> outcomes) {
+		List<Long> ids = new ArrayList<>(outcomes.keySet());
+		List<List<Long>> chunks = new ArrayList<>();
+		for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+			chunks.add(ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK, ids.size())));
+		}
+		return chunks;
+	}
+
+	private Map<Long, EmployeeSnapshot> snapshotsById(List<Long> ids) {
+		return employeeRepository.findSnapshotsByIdIn(ids).stream()
+				.collect(Collectors.toMap(EmployeeSnapshot::id, Function.identity()));
+	}
+}
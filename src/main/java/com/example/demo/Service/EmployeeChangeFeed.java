@@ -0,0 +1,183 @@
+package com.example.demo.Service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.demo.Model.EmployeeChangeEvent;
+import com.example.demo.Model.EmployeeSnapshot;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Pushes committed employee changes to Server-Sent Events subscribers. Each event is named after the
+// change type (created, updated, deleted), carries the employee snapshot as data (the last known state
+// for deletions) and a sequence number as its id. A reconnecting client sends that id as Last-Event-ID
+// and gets the changes it missed from a bounded ring buffer, or a "reset" event when they have been
+// overwritten, meaning it should reload the listing.
+//
+// Connections are async requests, so idle subscribers hold no thread. Sequence numbers, the buffer and
+// the subscriber list are confined to one dispatcher thread, which keeps replay and live events in
+// order without locks and keeps writers from waiting on subscriber sockets.
+@Service
+public class EmployeeChangeFeed {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+	private static final long RECONNECT_MS = 2000;
+
+	private record Change(long id, EmployeeChangeEvent event) {
+	}
+
+	private final int bufferSize;
+	private final long timeoutMs;
+	private final ScheduledExecutorService dispatcher;
+	private final Deque<Change> buffer = new ArrayDeque<>();
+	private final List<SseEmitter> subscribers = new ArrayList<>();
+	private final AtomicInteger subscriberCount = new AtomicInteger();
+	private long lastId;
+
+	public EmployeeChangeFeed(@Value("${employee.changes.buffer-size:1024}") int bufferSize,
+			@Value("${employee.changes.timeout-ms:1800000}") long timeoutMs,
+			@Value("${employee.changes.heartbeat-seconds:15}") long heartbeatSeconds, MeterRegistry meterRegistry) {
+		this.bufferSize = bufferSize;
+		this.timeoutMs = timeoutMs;
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+				new CustomizableThreadFactory("employee-changes-"));
+		executor.setRemoveOnCancelPolicy(true);
+		this.dispatcher = executor;
+		// Comment lines keep proxies from closing idle streams and surface dead connections
+		dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+		Gauge.builder("employee.changes.subscribers", subscriberCount, AtomicInteger::get)
+				.description("Open employee change feed connections").register(meterRegistry);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChange(EmployeeChangeEvent event) {
+		dispatcher.execute(() -> {
+			Change change = new Change(++lastId, event);
+			buffer.addLast(change);
+			if (buffer.size() > bufferSize) {
+				buffer.removeFirst();
+			}
+			for (SseEmitter emitter : List.copyOf(subscribers)) {
+				send(emitter, change);
+			}
+		});
+	}
+
+	// lastEventId is the client's Last-Event-ID header, null for a fresh subscription
+	public SseEmitter subscribe(String lastEventId) {
+		SseEmitter emitter = new SseEmitter(timeoutMs);
+		emitter.onCompletion(() -> dispatcher.execute(() -> remove(emitter)));
+		emitter.onTimeout(emitter::complete);
+		emitter.onError(e -> emitter.complete());
+		Long resumeAfter = parseEventId(lastEventId);
+		dispatcher.execute(() -> {
+			try {
+				// Commits the stream right away and tells clients how soon to reconnect after it ends
+				emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MS).comment("subscribed"));
+			} catch (IOException | IllegalStateException e) {
+				emitter.completeWithError(e);
+				return;
+			}
+			if (resumeAfter != null && !replay(emitter, resumeAfter)) {
+				return;
+			}
+			subscribers.add(emitter);
+			subscriberCount.set(subscribers.size());
+		});
+		return emitter;
+	}
+
+	private static Long parseEventId(String lastEventId) {
+		if (lastEventId == null || lastEventId.isBlank()) {
+			return null;
+		}
+		try {
+			return Long.valueOf(lastEventId.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Last-Event-ID must be an id sent by this feed");
+		}
+	}
+
+	// Sends what the client missed; false when the emitter failed along the way
+	private boolean replay(SseEmitter emitter, long resumeAfter) {
+		Change oldest = buffer.peekFirst();
+		long firstAvailable = oldest == null ? lastId + 1 : oldest.id();
+		// Ids ahead of ours come from before a restart; either way the client cannot catch up from here
+		if (resumeAfter > lastId || resumeAfter < firstAvailable - 1) {
+			try {
+				emitter.send(SseEmitter.event().id(String.valueOf(lastId)).name("reset").data(""));
+				return true;
+			} catch (IOException | IllegalStateException e) {
+				emitter.completeWithError(e);
+				return false;
+			}
+		}
+		for (Change change : buffer) {
+			if (change.id() > resumeAfter && !send(emitter, change)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean send(SseEmitter emitter, Change change) {
+		EmployeeChangeEvent event = change.event();
+		EmployeeSnapshot employee = event.after() != null ? event.after() : event.before();
+		try {
+			emitter.send(SseEmitter.event().id(String.valueOf(change.id()))
+					.name(event.type().name().toLowerCase(Locale.ROOT)).data(employee, MediaType.APPLICATION_JSON));
+			return true;
+		} catch (IOException | IllegalStateException e) {
+			// Client went away; completing triggers the onCompletion removal
+			log.debug("Dropping change feed subscriber: {}", e.toString());
+			remove(emitter);
+			emitter.completeWithError(e);
+			return false;
+		}
+	}
+
+	private void heartbeat() {
+		for (SseEmitter emitter : List.copyOf(subscribers)) {
+			try {
+				emitter.send(SseEmitter.event().comment("keep-alive"));
+			} catch (IOException | IllegalStateException e) {
+				remove(emitter);
+				emitter.completeWithError(e);
+			}
+		}
+	}
+
+	private void remove(SseEmitter emitter) {
+		subscribers.remove(emitter);
+		subscriberCount.set(subscribers.size());
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		dispatcher.execute(() -> {
+			subscribers.forEach(SseEmitter::complete);
+			subscribers.clear();
+			subscriberCount.set(0);
+		});
+		dispatcher.shutdown();
+	}
+}
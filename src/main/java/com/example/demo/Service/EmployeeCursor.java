@@ -0,0 +1,51 @@
+package com.example.demo.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.example.demo.Model.EmployeeSnapshot;
+import com.example.demo.Model.EmployeeSortField;
+
+// Opaque keyset position: the sort key and id of the last row a client has seen.
+// Encoded as base64url("sort|direction|id|value") with value prefixed by 'v', or 'n' for NULL.
+public record EmployeeCursor(EmployeeSortField sort, boolean descending, Long id, Comparable<?> value) {
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	public static EmployeeCursor of(EmployeeSortField sort, boolean descending, EmployeeSnapshot last) {
+		Comparable<?> value = switch (sort) {
+		case ID -> null;
+		case LAST_NAME -> last.lastName();
+		case JOINING_DATE -> last.joiningDate();
+		};
+		return new EmployeeCursor(sort, descending, last.id(), value);
+	}
+
+	public String encode() {
+		String raw = sort.name() + "|" + (descending ? "desc" : "asc") + "|" + id + "|"
+				+ (value == null ? "n" : "v" + value);
+		return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static EmployeeCursor decode(String token, EmployeeSortField sort, boolean descending) {
+		try {
+			String[] parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split("\\|", 4);
+			if (parts.length != 4 || !parts[0].equals(sort.name())
+					|| !parts[1].equals(descending ? "desc" : "asc")) {
+				throw new IllegalArgumentException("Cursor does not match the requested sort order");
+			}
+			Long id = Long.valueOf(parts[2]);
+			Comparable<?> value = null;
+			if (parts[3].startsWith("v")) {
+				String raw = parts[3].substring(1);
+				value = sort == EmployeeSortField.JOINING_DATE ? LocalDate.parse(raw) : raw;
+			}
+			return new EmployeeCursor(sort, descending, id, value);
+		} catch (NumberFormatException | DateTimeParseException e) {
+			throw new IllegalArgumentException("Malformed cursor");
+		}
+	}
+}
@@ -0,0 +1,172 @@
+package com.example.demo.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.Model.EmployeeFileFormat;
+import com.example.demo.Repository.DepartmentTotals;
+import com.example.demo.Repository.EmployeeExportRow;
+import com.example.demo.Repository.EmployeeRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Service
+public class EmployeeExportService {
+
+	static final String DEPARTMENT_SALARIES_HEADER = "department,headcount,salaryCount,salarySum,meanSalary";
+
+	private final EmployeeRepository employeeRepository;
+	private final ObjectMapper objectMapper;
+
+	public EmployeeExportService(EmployeeRepository employeeRepository, ObjectMapper objectMapper) {
+		this.employeeRepository = employeeRepository;
+		this.objectMapper = objectMapper;
+	}
+
+	// Streams rows from a database cursor straight to the output. Rows are column projections, not
+	// managed entities, so heap use stays flat regardless of table size. Returns the row count.
+	@Transactional(readOnly = true)
+	public long export(EmployeeFileFormat format, OutputStream out) throws IOException {
+		return export(format, employeeRepository.streamAllForExport(), out);
+	}
+
+	// Employees who joined in [from, to], oldest first, in the same columns as the full export
+	@Transactional(readOnly = true)
+	public long exportJoinedBetween(EmployeeFileFormat format, LocalDate from, LocalDate to, OutputStream out)
+			throws IOException {
+		return export(format, employeeRepository.streamJoinedBetweenForExport(from, to), out);
+	}
+
+	// One row per department from a single GROUP BY, in department order. Returns the department count.
+	@Transactional(readOnly = true)
+	public long exportDepartmentSalaries(EmployeeFileFormat format, OutputStream out) throws IOException {
+		List<DepartmentTotals> departments = new ArrayList<>(employeeRepository.sumSalariesByDepartment());
+		departments.sort(Comparator.comparing(DepartmentTotals::getDepartment));
+		if (format == EmployeeFileFormat.NDJSON) {
+			JsonGenerator generator = objectMapper.getFactory().createGenerator(out).setRootValueSeparator(null);
+			for (DepartmentTotals totals : departments) {
+				generator.writeStartObject();
+				generator.writeStringField("department", totals.getDepartment());
+				generator.writeNumberField("headcount", totals.getHeadcount());
+				generator.writeNumberField("salaryCount", totals.getSalaryCount());
+				generator.writeNumberField("salarySum", totals.getSalarySum() == null ? 0 : totals.getSalarySum());
+				if (totals.getSalaryCount() == 0) {
+					generator.writeNullField("meanSalary");
+				} else {
+					generator.writeNumberField("meanSalary", totals.getSalarySum() / totals.getSalaryCount());
+				}
+				generator.writeEndObject();
+				generator.writeRaw('\n');
+			}
+			generator.flush();
+		} else {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+			writer.write(DEPARTMENT_SALARIES_HEADER);
+			writer.write('\n');
+			for (DepartmentTotals totals : departments) {
+				writeCsvField(writer, totals.getDepartment());
+				writer.write(',');
+				writer.write(String.valueOf(totals.getHeadcount()));
+				writer.write(',');
+				writer.write(String.valueOf(totals.getSalaryCount()));
+				writer.write(',');
+				writer.write(String.valueOf(totals.getSalarySum() == null ? 0.0 : totals.getSalarySum()));
+				writer.write(',');
+				writer.write(totals.getSalaryCount() == 0 ? ""
+						: String.valueOf(totals.getSalarySum() / totals.getSalaryCount()));
+				writer.write('\n');
+			}
+			writer.flush();
+		}
+		return departments.size();
+	}
+
+	private long export(EmployeeFileFormat format, Stream<EmployeeExportRow> rowStream, OutputStream out) throws IOException {
+		long rows = 0;
+		try (Stream<EmployeeExportRow> employees = rowStream) {
+			if (format == EmployeeFileFormat.NDJSON) {
+				// One object per line; the newline is written explicitly instead of Jackson's root separator
+				JsonGenerator generator = objectMapper.getFactory().createGenerator(out).setRootValueSeparator(null);
+				for (EmployeeExportRow employee : (Iterable<EmployeeExportRow>) employees::iterator) {
+					writeJson(generator, employee);
+					rows++;
+				}
+				generator.flush();
+			} else {
+				Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+				writer.write(EmployeeFileFormat.CSV_HEADER);
+				writer.write('\n');
+				for (EmployeeExportRow employee : (Iterable<EmployeeExportRow>) employees::iterator) {
+					writeCsv(writer, employee);
+					rows++;
+				}
+				writer.flush();
+			}
+		}
+		return rows;
+	}
+
+	// Only employee columns are exported; the linked user (and its password hash) is never even read
+	private static void writeJson(JsonGenerator generator, EmployeeExportRow employee) throws IOException {
+		generator.writeStartObject();
+		generator.writeNumberField("id", employee.getId());
+		generator.writeStringField("firstName", employee.getFirstName());
+		generator.writeStringField("lastName", employee.getLastName());
+		generator.writeStringField("email", employee.getEmail());
+		if (employee.getSalary() == null) {
+			generator.writeNullField("salary");
+		} else {
+			generator.writeNumberField("salary", employee.getSalary());
+		}
+		generator.writeStringField("department", employee.getDepartment());
+		generator.writeStringField("joiningDate",
+				employee.getJoiningDate() == null ? null : employee.getJoiningDate().toString());
+		generator.writeEndObject();
+		generator.writeRaw('\n');
+	}
+
+	private static void writeCsv(Writer writer, EmployeeExportRow employee) throws IOException {
+		writer.write(String.valueOf(employee.getId()));
+		writer.write(',');
+		writeCsvField(writer, employee.getFirstName());
+		writer.write(',');
+		writeCsvField(writer, employee.getLastName());
+		writer.write(',');
+		writeCsvField(writer, employee.getEmail());
+		writer.write(',');
+		writer.write(employee.getSalary() == null ? "" : employee.getSalary().toString());
+		writer.write(',');
+		writeCsvField(writer, employee.getDepartment());
+		writer.write(',');
+		writer.write(employee.getJoiningDate() == null ? "" : employee.getJoiningDate().toString());
+		writer.write('\n');
+	}
+
+	// RFC 4180 quoting: only fields containing a delimiter, quote or line break are quoted
+	private static void writeCsvField(Writer writer, String value) throws IOException {
+		if (value == null) {
+			return;
+		}
+		boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+				|| value.indexOf('\r') >= 0;
+		if (!quote) {
+			writer.write(value);
+			return;
+		}
+		writer.write('"');
+		writer.write(value.replace("\"", "\"\""));
+		writer.write('"');
+	}
+}
@@ -0,0 +1,243 @@
+package com.example.demo.Service;
+
+import java.io.BufferedReader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.Model.AppUser;
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.EmployeeChangeEvent;
+import com.example.demo.Model.EmployeeFileFormat;
+import com.example.demo.Model.ImportResult;
+import com.example.demo.Model.Role;
+import com.example.demo.Repository.EmployeeRepository;
+import com.example.demo.Repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+public class EmployeeImportService {
+
+	// Keep in step with spring.jpa.properties.hibernate.jdbc.batch_size
+	private static final int BATCH_SIZE = 50;
+	// Lines read, parsed and checked against the database at a time
+	private static final int IN_CLAUSE_CHUNK = 1000;
+
+	private final EmployeeRepository employeeRepository;
+	private final UserRepository userRepository;
+	private final ObjectMapper objectMapper;
+	private final Validator validator;
+	private final ApplicationEventPublisher eventPublisher;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public EmployeeImportService(EmployeeRepository employeeRepository, UserRepository userRepository,
+			ObjectMapper objectMapper, Validator validator, ApplicationEventPublisher eventPublisher) {
+		this.employeeRepository = employeeRepository;
+		this.userRepository = userRepository;
+		this.objectMapper = objectMapper;
+		this.validator = validator;
+		this.eventPublisher = eventPublisher;
+	}
+
+	private record ParsedRow(int line, Employee employee, Map<String, String> errors) {
+	}
+
+	// Streams the body in chunks of IN_CLAUSE_CHUNK lines: each chunk is parsed and validated in
+	// parallel, checked for duplicate emails (within the file so far and against the database, with
+	// one set-based query per chunk) and inserted in JDBC batches before the next one is read.
+	// Valid rows are imported even when others in the file are rejected. Imported accounts get no
+	// usable password; an administrator resets it before the employee's first login.
+	@Transactional
+	public ImportResult importEmployees(EmployeeFileFormat format, BufferedReader reader) {
+		Iterator<String> lines = reader.lines().iterator();
+		String[] header = null;
+		int lineNumber = 0;
+		if (format == EmployeeFileFormat.CSV && lines.hasNext()) {
+			header = splitCsvLine(lines.next());
+			lineNumber++;
+		}
+
+		Set<String> seenEmails = new HashSet<>();
+		List<ImportResult.RowError> errors = new ArrayList<>();
+		List<String> chunk = new ArrayList<>(IN_CLAUSE_CHUNK);
+		int written = 0;
+		while (lines.hasNext()) {
+			chunk.add(lines.next());
+			if (chunk.size() == IN_CLAUSE_CHUNK || !lines.hasNext()) {
+				List<ParsedRow> rows = parse(format, header, lineNumber + 1, chunk);
+				written += importChunk(rows, seenEmails, errors);
+				lineNumber += chunk.size();
+				chunk.clear();
+			}
+		}
+
+		errors.sort((a, b) -> Integer.compare(a.line(), b.line()));
+		return new ImportResult(written, errors.size(), errors);
+	}
+
+	private int importChunk(List<ParsedRow> rows, Set<String> seenEmails, List<ImportResult.RowError> errors) {
+		Map<String, ParsedRow> accepted = new LinkedHashMap<>();
+		for (ParsedRow row : rows) {
+			if (!row.errors().isEmpty()) {
+				errors.add(new ImportResult.RowError(row.line(), emailOf(row), row.errors()));
+			} else if (!seenEmails.add(row.employee().getEmail())) {
+				errors.add(new ImportResult.RowError(row.line(), emailOf(row),
+						Map.of("email", "Email appears more than once in the file")));
+			} else {
+				accepted.put(row.employee().getEmail(), row);
+			}
+		}
+		if (accepted.isEmpty()) {
+			return 0;
+		}
+
+		Set<String> taken = new HashSet<>();
+		List<String> emails = new ArrayList<>(accepted.keySet());
+		taken.addAll(employeeRepository.findExistingEmails(emails));
+		// Imported emails become usernames, so they must not clash with existing accounts either
+		taken.addAll(userRepository.findExistingUsernames(emails));
+
+		int written = 0;
+		for (ParsedRow row : accepted.values()) {
+			Employee employee = row.employee();
+			if (taken.contains(employee.getEmail())) {
+				errors.add(new ImportResult.RowError(row.line(), emailOf(row), Map.of("email", "Email already exists")));
+				continue;
+			}
+			AppUser appUser = new AppUser(employee.getEmail(), AppUser.NO_PASSWORD);
+			appUser.setRole(Role.EMPLOYEE);
+			userRepository.save(appUser);
+			employee.setAppUser(appUser);
+			employeeRepository.save(employee);
+			eventPublisher.publishEvent(EmployeeChangeEvent.created(employee));
+
+			if (++written % BATCH_SIZE == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+		return written;
+	}
+
+	// firstLine is the file line number of chunk.get(0)
+	private List<ParsedRow> parse(EmployeeFileFormat format, String[] header, int firstLine, List<String> chunk) {
+		return IntStream.range(0, chunk.size())
+				.parallel()
+				.filter(i -> !chunk.get(i).isBlank())
+				.mapToObj(i -> format == EmployeeFileFormat.CSV
+						? parseCsv(firstLine + i, header, chunk.get(i))
+						: parseJson(firstLine + i, chunk.get(i)))
+				.toList();
+	}
+
+	private ParsedRow parseJson(int line, String json) {
+		Employee employee;
+		try {
+			employee = objectMapper.readValue(json, Employee.class);
+		} catch (JsonProcessingException e) {
+			return new ParsedRow(line, null, Map.of("line", "Malformed JSON: " + e.getOriginalMessage()));
+		}
+		// Ids and user links are always assigned by the import, never taken from the file
+		employee.setId(null);
+		employee.setAppUser(null);
+		return validate(line, employee, new HashMap<>());
+	}
+
+	private ParsedRow parseCsv(int line, String[] header, String csv) {
+		String[] values = splitCsvLine(csv);
+		Employee employee = new Employee();
+		Map<String, String> errors = new HashMap<>();
+		for (int c = 0; c < header.length && c < values.length; c++) {
+			String value = values[c].isEmpty() ? null : values[c];
+			switch (header[c].trim()) {
+			case "firstName" -> employee.setFirstName(value);
+			case "lastName" -> employee.setLastName(value);
+			case "email" -> employee.setEmail(value);
+			case "department" -> employee.setDepartment(value);
+			case "salary" -> {
+				try {
+					employee.setSalary(value == null ? null : Double.valueOf(value));
+				} catch (NumberFormatException e) {
+					errors.put("salary", "Salary must be a number");
+				}
+			}
+			case "joiningDate" -> {
+				try {
+					employee.setJoiningDate(value == null ? null : LocalDate.parse(value));
+				} catch (DateTimeParseException e) {
+					errors.put("joiningDate", "Joining date must be formatted as yyyy-MM-dd");
+				}
+			}
+			default -> {
+				// Unknown columns (including an exported id) are ignored
+			}
+			}
+		}
+		return validate(line, employee, errors);
+	}
+
+	private ParsedRow validate(int line, Employee employee, Map<String, String> errors) {
+		for (ConstraintViolation<Employee> violation : validator.validate(employee)) {
+			errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+		}
+		if (employee.getJoiningDate() == null) {
+			employee.setJoiningDate(LocalDate.now());
+		}
+		return new ParsedRow(line, employee, errors);
+	}
+
+	private static String emailOf(ParsedRow row) {
+		return row.employee() == null ? null : row.employee().getEmail();
+	}
+
+	// RFC 4180 fields on a single line: commas separate, double quotes wrap, "" escapes a quote
+	static String[] splitCsvLine(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char ch = line.charAt(i);
+			if (quoted) {
+				if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else if (ch == '"') {
+					quoted = false;
+				} else {
+					field.append(ch);
+				}
+			} else if (ch == '"') {
+				quoted = true;
+			} else if (ch == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(ch);
+			}
+		}
+		fields.add(field.toString());
+		return fields.toArray(String[]::new);
+	}
+}
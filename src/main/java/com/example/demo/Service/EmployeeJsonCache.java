@@ -0,0 +1,116 @@
+package com.example.demo.Service;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.demo.Config.ReplicaRouter;
+import com.example.demo.Model.EmployeeChangeEvent;
+import com.example.demo.Model.EmployeeDetail;
+import com.example.demo.Model.EmployeeQuery;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// UTF-8 JSON of employee details and listing pages, serialized once and written to responses as bytes.
+// Every committed change event (EmployeeService, imports, batch operations) drops the employee's detail
+// and all pages. Pages are also keyed by the EmployeeTableVersion tag the listing read before its query,
+// so a page built from rows older than the tag is never served under a newer one. A read that overlaps
+// any change is not kept, since the change's invalidation may have run before it was stored. Misses may
+// be read from a replica (ReplicaRouter), but only one that already has the last change seen here.
+@Service
+public class EmployeeJsonCache {
+
+	// Detail bytes plus what the endpoint checks before sending them
+	public record Detail(Long userId, Long version, byte[] json) {
+	}
+
+	private record PageKey(EmployeeQuery query, String tableVersion) {
+	}
+
+	private final EmployeeService employeeService;
+	private final ObjectMapper objectMapper;
+	private final Cache<Long, Detail> details;
+	private final Cache<PageKey, byte[]> pages;
+	private final ReplicaRouter replicaRouter;
+	private final AtomicLong changes = new AtomicLong();
+	// Set before changes is incremented, so a read that does not see the increment saw this
+	private volatile Instant lastChange;
+
+	public EmployeeJsonCache(EmployeeService employeeService, ObjectMapper objectMapper, ReplicaRouter replicaRouter,
+			@Value("${employee.json-cache.detail-maximum-size:10000}") long detailMaximumSize,
+			@Value("${employee.json-cache.page-maximum-size:1000}") long pageMaximumSize,
+			@Value("${employee.json-cache.expire-after-write-seconds:600}") long expireAfterWriteSeconds,
+			MeterRegistry meterRegistry) {
+		this.employeeService = employeeService;
+		this.objectMapper = objectMapper;
+		this.replicaRouter = replicaRouter;
+		Duration ttl = Duration.ofSeconds(expireAfterWriteSeconds);
+		this.details = Caffeine.newBuilder().maximumSize(detailMaximumSize).expireAfterWrite(ttl).recordStats()
+				.build();
+		this.pages = Caffeine.newBuilder().maximumSize(pageMaximumSize).expireAfterWrite(ttl).recordStats().build();
+		CaffeineCacheMetrics.monitor(meterRegistry, details, "employee.json.detail");
+		CaffeineCacheMetrics.monitor(meterRegistry, pages, "employee.json.page");
+	}
+
+	public Optional<Detail> detail(Long id) {
+		Detail cached = details.getIfPresent(id);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+		long seen = changes.get();
+		Optional<EmployeeDetail> employee = replicaRouter.readAfter(lastChange,
+				() -> employeeService.getEmployeeDetail(id));
+		if (employee.isEmpty()) {
+			return Optional.empty();
+		}
+		Detail detail = new Detail(employee.get().userId(), employee.get().version(), serialize(employee.get()));
+		details.put(id, detail);
+		if (changes.get() != seen) {
+			details.invalidate(id);
+		}
+		return Optional.of(detail);
+	}
+
+	// Not computed inside the cache: a listing query must not hold a lock other keys may hash to
+	public byte[] page(EmployeeQuery query, String tableVersion) {
+		PageKey key = new PageKey(query, tableVersion);
+		byte[] cached = pages.getIfPresent(key);
+		if (cached != null) {
+			return cached;
+		}
+		long seen = changes.get();
+		byte[] json = serialize(replicaRouter.readAfter(lastChange, () -> employeeService.listEmployees(query)));
+		pages.put(key, json);
+		if (changes.get() != seen) {
+			pages.invalidate(key);
+		}
+		return json;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChange(EmployeeChangeEvent event) {
+		lastChange = Instant.now();
+		changes.incrementAndGet();
+		details.invalidate(event.id());
+		pages.invalidateAll();
+	}
+
+	private byte[] serialize(Object value) {
+		try {
+			return objectMapper.writeValueAsBytes(value);
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,258 @@
+package com.example.demo.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.Model.EmployeeChangeEvent;
+import com.example.demo.Model.EmployeeSearchResult;
+import com.example.demo.Model.EmployeeSnapshot;
+import com.example.demo.Repository.EmployeeRepository;
+
+// In-process search over first name, last name, email and department.
+//
+// Two levels: every field is split into lower-case tokens (words, plus the whole email), and
+// token -> employee ids is kept alongside trigram -> tokens over the *distinct* tokens only, which
+// stays small because names and departments repeat. A query term matches a token when the token
+// starts with it (terms under three characters) or contains it (trigram candidates, then verified).
+// Multi-word queries require every term to match. Kept current from committed change events.
+@Service
+public class EmployeeSearchIndex {
+
+	private static final int EXACT = 3;
+	private static final int PREFIX = 2;
+	private static final int SUBSTRING = 1;
+
+	private final EmployeeRepository employeeRepository;
+	private final TransactionTemplate readOnlyTransaction;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	// All guarded by lock
+	private final Map<Long, EmployeeSnapshot> documents = new HashMap<>();
+	// Lower-cased "last\0first" per document, so ranking never rebuilds it per comparison
+	private final Map<Long, String> sortKeys = new HashMap<>();
+	private final TreeMap<String, Set<Long>> postings = new TreeMap<>();
+	private final Map<String, Set<String>> trigrams = new HashMap<>();
+
+	public EmployeeSearchIndex(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager) {
+		this.employeeRepository = employeeRepository;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		lock.writeLock().lock();
+		try {
+			documents.clear();
+			sortKeys.clear();
+			postings.clear();
+			trigrams.clear();
+			readOnlyTransaction.executeWithoutResult(status -> {
+				try (Stream<EmployeeSnapshot> rows = employeeRepository.streamAllSnapshots()) {
+					rows.forEach(this::addDocument);
+				}
+			});
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChange(EmployeeChangeEvent event) {
+		lock.writeLock().lock();
+		try {
+			if (event.before() != null) {
+				removeDocument(event.before().id());
+			}
+			if (event.after() != null) {
+				addDocument(event.after());
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// Ranked by how well each term matched (exact token, prefix, substring), then by name and id
+	public EmployeeSearchResult search(String query, int offset, int limit) {
+		List<String> terms = tokenize(query).stream().distinct().toList();
+		if (terms.isEmpty()) {
+			return new EmployeeSearchResult(0, List.of());
+		}
+
+		lock.readLock().lock();
+		try {
+			Map<Long, Integer> scores = null;
+			for (String term : terms) {
+				Map<Long, Integer> termScores = matchTerm(term);
+				if (scores == null) {
+					scores = termScores;
+				} else {
+					Map<Long, Integer> both = new HashMap<>();
+					for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+						Integer score = termScores.get(entry.getKey());
+						if (score != null) {
+							both.put(entry.getKey(), entry.getValue() + score);
+						}
+					}
+					scores = both;
+				}
+				if (scores.isEmpty()) {
+					return new EmployeeSearchResult(0, List.of());
+				}
+			}
+			return new EmployeeSearchResult(scores.size(), topK(scores, offset, limit));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private Map<Long, Integer> matchTerm(String term) {
+		Map<Long, Integer> scores = new HashMap<>();
+		for (String token : candidateTokens(term)) {
+			int score = token.equals(term) ? EXACT : token.startsWith(term) ? PREFIX : SUBSTRING;
+			for (Long id : postings.get(token)) {
+				scores.merge(id, score, Math::max);
+			}
+		}
+		return scores;
+	}
+
+	private Set<String> candidateTokens(String term) {
+		if (term.length() < 3) {
+			return postings.subMap(term, true, term + Character.MAX_VALUE, false).keySet();
+		}
+		// Intersect the token sets of every trigram in the term, smallest first
+		List<Set<String>> sets = new ArrayList<>();
+		for (String gram : trigramsOf(term)) {
+			Set<String> tokens = trigrams.get(gram);
+			if (tokens == null) {
+				return Set.of();
+			}
+			sets.add(tokens);
+		}
+		sets.sort(Comparator.comparingInt(Set::size));
+		Set<String> candidates = new HashSet<>(sets.get(0));
+		for (int i = 1; i < sets.size() && !candidates.isEmpty(); i++) {
+			candidates.retainAll(sets.get(i));
+		}
+		candidates.removeIf(token -> !token.contains(term));
+		return candidates;
+	}
+
+	// Bounded heap: only offset + limit results are ever ordered
+	private List<EmployeeSnapshot> topK(Map<Long, Integer> scores, int offset, int limit) {
+		Comparator<Map.Entry<Long, Integer>> ranking = Comparator
+				.<Map.Entry<Long, Integer>>comparingInt(Map.Entry::getValue).reversed()
+				.thenComparing(entry -> sortKeys.get(entry.getKey()))
+				.thenComparing(Map.Entry::getKey);
+		if (offset >= scores.size()) {
+			return List.of();
+		}
+		// Never more than the matches, however far the caller pages
+		int wanted = (int) Math.min((long) offset + limit, scores.size());
+		PriorityQueue<Map.Entry<Long, Integer>> heap = new PriorityQueue<>(wanted + 1, ranking.reversed());
+		for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+			heap.offer(entry);
+			if (heap.size() > wanted) {
+				heap.poll();
+			}
+		}
+		List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(heap);
+		ranked.sort(ranking);
+		List<EmployeeSnapshot> page = new ArrayList<>(ranked.size() - offset);
+		for (int i = offset; i < ranked.size(); i++) {
+			page.add(documents.get(ranked.get(i).getKey()));
+		}
+		return page;
+	}
+
+	private static String sortKey(EmployeeSnapshot snapshot) {
+		return (snapshot.lastName() == null ? "" : snapshot.lastName().toLowerCase(Locale.ROOT)) + '\u0000'
+				+ (snapshot.firstName() == null ? "" : snapshot.firstName().toLowerCase(Locale.ROOT));
+	}
+
+	private void addDocument(EmployeeSnapshot snapshot) {
+		documents.put(snapshot.id(), snapshot);
+		sortKeys.put(snapshot.id(), sortKey(snapshot));
+		for (String token : tokensOf(snapshot)) {
+			Set<Long> ids = postings.computeIfAbsent(token, t -> {
+				for (String gram : trigramsOf(t)) {
+					trigrams.computeIfAbsent(gram, g -> new HashSet<>()).add(t);
+				}
+				return new HashSet<>();
+			});
+			ids.add(snapshot.id());
+		}
+	}
+
+	private void removeDocument(Long id) {
+		EmployeeSnapshot snapshot = documents.remove(id);
+		sortKeys.remove(id);
+		if (snapshot == null) {
+			return;
+		}
+		for (String token : tokensOf(snapshot)) {
+			Set<Long> ids = postings.get(token);
+			if (ids == null) {
+				continue;
+			}
+			ids.remove(id);
+			if (ids.isEmpty()) {
+				postings.remove(token);
+				for (String gram : trigramsOf(token)) {
+					Set<String> tokens = trigrams.get(gram);
+					if (tokens != null && tokens.remove(token) && tokens.isEmpty()) {
+						trigrams.remove(gram);
+					}
+				}
+			}
+		}
+	}
+
+	private static Set<String> tokensOf(EmployeeSnapshot snapshot) {
+		Set<String> tokens = new LinkedHashSet<>();
+		tokens.addAll(tokenize(snapshot.firstName()));
+		tokens.addAll(tokenize(snapshot.lastName()));
+		tokens.addAll(tokenize(snapshot.department()));
+		if (snapshot.email() != null) {
+			// Whole address too, so queries like "jane.doe@" match
+			tokens.add(snapshot.email().toLowerCase(Locale.ROOT));
+			tokens.addAll(tokenize(snapshot.email().replaceAll("[^\\p{Alnum}]", " ")));
+		}
+		return tokens;
+	}
+
+	private static List<String> tokenize(String text) {
+		if (text == null || text.isBlank()) {
+			return List.of();
+		}
+		return List.of(text.toLowerCase(Locale.ROOT).trim().split("\\s+"));
+	}
+
+	private static List<String> trigramsOf(String token) {
+		List<String> grams = new ArrayList<>(Math.max(0, token.length() - 2));
+		for (int i = 0; i + 3 <= token.length(); i++) {
+			grams.add(token.substring(i, i + 3));
+		}
+		return grams;
+	}
+}
@@ -1,15 +1,38 @@
 package com.example.demo.Service;
 
+import com.example.demo.Config.ReplicaRouter;
 import com.example.demo.Model.Employee;
+import com.example.demo.Model.EmployeeChangeEvent;
+import com.example.demo.Model.EmployeeDetail;
+import com.example.demo.Model.EmployeePage;
+import com.example.demo.Model.EmployeePatch;
+import com.example.demo.Model.EmployeeQuery;
+import com.example.demo.Model.EmployeeSnapshot;
+import com.example.demo.Model.EmployeeSortField;
 import com.example.demo.Repository.EmployeeRepository;
+import com.example.demo.Repository.EmployeeSpecifications;
+import com.example.demo.Security.TokenVersionRegistry;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class EmployeeService {
@@ -17,35 +40,137 @@ public class EmployeeService {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersions;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public List<Employee> getAllEmployees() {
         return employeeRepository.findAll();
     }
 
+    // Keyset pagination: seek past the cursor instead of using OFFSET, so every page
+    // costs the same no matter how deep the client has scrolled. Rows are selected straight
+    // into snapshots: only the listed columns, no user join and no managed entities.
+    @Transactional(readOnly = true, label = ReplicaRouter.REPLICA)
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public EmployeePage<EmployeeSnapshot> listEmployees(EmployeeQuery query) {
+        Specification<Employee> spec = EmployeeSpecifications.matching(query);
+        if (query.cursor() != null && !query.cursor().isEmpty()) {
+            EmployeeCursor cursor = EmployeeCursor.decode(query.cursor(), query.sort(), query.descending());
+            spec = spec.and(EmployeeSpecifications.after(query.sort(), query.descending(),
+                    (Comparable) cursor.value(), cursor.id()));
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeSnapshot> cq = cb.createQuery(EmployeeSnapshot.class);
+        Root<Employee> root = cq.from(Employee.class);
+        cq.select(cb.construct(EmployeeSnapshot.class, root.get("id"), root.get("firstName"), root.get("lastName"),
+                root.get("email"), root.get("salary"), root.get("department"), root.get("joiningDate")));
+        Predicate predicate = spec.toPredicate(root, cq, cb);
+        if (predicate != null) {
+            cq.where(predicate);
+        }
+        cq.orderBy(listingOrder(query.sort(), query.descending(), root, cb));
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<EmployeeSnapshot> rows = entityManager.createQuery(cq).setMaxResults(query.limit() + 1).getResultList();
+
+        String nextCursor = null;
+        if (rows.size() > query.limit()) {
+            rows = rows.subList(0, query.limit());
+            nextCursor = EmployeeCursor.of(query.sort(), query.descending(), rows.get(rows.size() - 1)).encode();
+        }
+        return new EmployeePage<>(rows, nextCursor, query.limit());
+    }
+
+    // H2 sorts NULLs lowest (first ascending, last descending), which is the order
+    // EmployeeSpecifications.after seeks through
+    private static List<Order> listingOrder(EmployeeSortField sort, boolean descending, Root<Employee> root,
+            CriteriaBuilder cb) {
+        Order byId = descending ? cb.desc(root.get("id")) : cb.asc(root.get("id"));
+        if (sort == EmployeeSortField.ID) {
+            return List.of(byId);
+        }
+        Order byKey = descending ? cb.desc(root.get(sort.getProperty())) : cb.asc(root.get(sort.getProperty()));
+        return List.of(byKey, byId);
+    }
+
     public Optional<Employee> getEmployeeById(Long id) {
         return employeeRepository.findById(id);
     }
 
+    @Transactional(readOnly = true, label = ReplicaRouter.REPLICA)
+    public Optional<EmployeeDetail> getEmployeeDetail(Long id) {
+        return employeeRepository.findDetailById(id);
+    }
+
+    @Transactional
     public Employee createEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        eventPublisher.publishEvent(EmployeeChangeEvent.created(saved));
+        return saved;
     }
 
+    @Transactional
     public Employee updateEmployee(Long id, Employee updatedEmployee) {
-        Optional<Employee> employeeOpt = employeeRepository.findById(id);
-        if (employeeOpt.isPresent()) {
-            Employee employee = employeeOpt.get();
+        return updateEmployee(id, updatedEmployee, null);
+    }
+
+    // expectedVersions come from If-Match: the update goes ahead only if the current version is one of
+    // them; null updates unconditionally. @Version still catches a concurrent writer that commits between
+    // this check and ours.
+    @Transactional
+    public Employee updateEmployee(Long id, Employee updatedEmployee, Set<Long> expectedVersions) {
+        return modify(id, expectedVersions, employee -> {
             employee.setFirstName(updatedEmployee.getFirstName());
             employee.setLastName(updatedEmployee.getLastName());
             employee.setEmail(updatedEmployee.getEmail());
             employee.setSalary(updatedEmployee.getSalary());
             employee.setDepartment(updatedEmployee.getDepartment());
             employee.setJoiningDate(updatedEmployee.getJoiningDate());
-            return employeeRepository.save(employee);
+        });
+    }
+
+    @Transactional
+    public Employee patchEmployee(Long id, EmployeePatch patch, Set<Long> expectedVersions) {
+        return modify(id, expectedVersions, patch::applyTo);
+    }
+
+    // The load is normally a second-level cache hit, and change listeners need the before image anyway,
+    // so with @DynamicUpdate an edit costs the one UPDATE of the columns that actually changed.
+    private Employee modify(Long id, Set<Long> expectedVersions, Consumer<Employee> changes) {
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Employee with ID " + id + " not found"));
+        if (expectedVersions != null && !expectedVersions.contains(employee.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+        }
+        EmployeeSnapshot before = EmployeeSnapshot.of(employee);
+        changes.accept(employee);
+        if (EmployeeSnapshot.of(employee).equals(before)) {
+            // Nothing to write, and nothing for listeners or ETags to react to
+            return employee;
         }
-        throw new EntityNotFoundException("Employee with ID " + id + " not found");
+        // Flushed now so the returned entity carries its new version
+        Employee saved = employeeRepository.saveAndFlush(employee);
+        eventPublisher.publishEvent(EmployeeChangeEvent.updated(before, saved));
+        return saved;
     }
 
+    @Transactional
     public void deleteEmployee(Long id) {
-        employeeRepository.deleteById(id);
+        employeeRepository.findById(id).ifPresent(employee -> {
+            // The removed employee's outstanding tokens must stop working right away
+            if (employee.getAppUser() != null) {
+                tokenVersions.revoke(employee.getAppUser().getId());
+            }
+            employeeRepository.delete(employee);
+            eventPublisher.publishEvent(EmployeeChangeEvent.deleted(EmployeeSnapshot.of(employee)));
+        });
     }
     
     public boolean existsByEmail(String email) {
@@ -0,0 +1,314 @@
+package com.example.demo.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.example.demo.Model.PayrollQuery;
+import com.example.demo.Model.PayrollReport;
+
+// Read-only columnar copy of the payroll columns: one primitive array per column, row i across all of
+// them. Salaries are doubles (NaN = none), joining dates epoch days (NO_DATE = none) and departments
+// codes into a dictionary. Reports scan the arrays on the common fork/join pool, each leaf task counting
+// into its own primitive accumulators, so a scan allocates per task and never per row.
+public final class PayrollSnapshot {
+
+	public static final PayrollSnapshot EMPTY = new Builder().build(Instant.EPOCH);
+
+	static final int NO_DATE = Integer.MIN_VALUE;
+	// Bounds a report's result and the accumulators every scan task allocates
+	static final int MAX_GROUPS = 100_000;
+	private static final int MIN_TASK_ROWS = 1 << 16;
+	private static final String UNASSIGNED = "(unassigned)";
+	private static final Comparator<PayrollReport.Group> GROUP_ORDER = Comparator
+			.comparing(PayrollReport.Group::department, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+			.thenComparing(PayrollReport.Group::tenureYears, Comparator.nullsLast(Comparator.<Integer>naturalOrder()))
+			.thenComparing(PayrollReport.Group::salaryFrom, Comparator.nullsLast(Comparator.<Double>naturalOrder()));
+
+	private final int rows;
+	private final double[] salaries;
+	private final int[] joiningDays;
+	private final int[] departmentCodes;
+	private final String[] departments;
+	private final double maxSalary;
+	private final int firstJoiningDay;
+	private final Instant takenAt;
+
+	private PayrollSnapshot(int rows, double[] salaries, int[] joiningDays, int[] departmentCodes,
+			String[] departments, Instant takenAt) {
+		this.rows = rows;
+		this.salaries = salaries;
+		this.joiningDays = joiningDays;
+		this.departmentCodes = departmentCodes;
+		this.departments = departments;
+		this.takenAt = takenAt;
+		double max = 0;
+		int first = Integer.MAX_VALUE;
+		for (int i = 0; i < rows; i++) {
+			if (salaries[i] > max) {
+				max = salaries[i];
+			}
+			if (joiningDays[i] != NO_DATE && joiningDays[i] < first) {
+				first = joiningDays[i];
+			}
+		}
+		this.maxSalary = max;
+		this.firstJoiningDay = first == Integer.MAX_VALUE ? NO_DATE : first;
+	}
+
+	public int rows() {
+		return rows;
+	}
+
+	public Instant takenAt() {
+		return takenAt;
+	}
+
+	public PayrollReport report(PayrollQuery query) {
+		Plan plan = new Plan(query);
+		Totals totals = rows == 0 ? new Totals(plan.groups)
+				: ForkJoinPool.commonPool().invoke(new Scan(plan, 0, rows, taskRows()));
+
+		List<PayrollReport.Group> groups = new ArrayList<>();
+		long matched = 0;
+		for (int group = 0; group < plan.groups; group++) {
+			if (totals.headcount[group] > 0) {
+				matched += totals.headcount[group];
+				groups.add(plan.describe(group, totals));
+			}
+		}
+		groups.sort(GROUP_ORDER);
+		return new PayrollReport(takenAt, rows, matched, groups);
+	}
+
+	// A few tasks per worker so uneven progress evens out, but few enough that accumulators stay cheap
+	private int taskRows() {
+		return Math.max(MIN_TASK_ROWS, rows / (ForkJoinPool.getCommonPoolParallelism() * 4) + 1);
+	}
+
+	// The query resolved against this snapshot: filters as primitive bounds, and the group index of a row
+	// as department * (tenures * bands) + tenure * bands + band, where the last tenure and band slots
+	// hold rows without a joining date or salary
+	private final class Plan {
+
+		private final boolean anyDepartment;
+		private final int departmentCode;
+		private final boolean salaryFiltered;
+		private final double minSalary;
+		private final double maxSalary;
+		private final boolean dateFiltered;
+		private final int joinedFrom;
+		private final int joinedTo;
+
+		private final boolean byDepartment;
+		private final boolean byTenure;
+		private final boolean byBand;
+		private final double bandWidth;
+		// cutoffs[k] = last joining day with at least k completed years at asOf; descending
+		private final int[] cutoffs;
+		private final int tenures;
+		private final int bands;
+		private final int groups;
+
+		Plan(PayrollQuery query) {
+			anyDepartment = query.department() == null;
+			departmentCode = anyDepartment ? -1 : Arrays.asList(departments).indexOf(query.department());
+			salaryFiltered = query.minSalary() != null || query.maxSalary() != null;
+			minSalary = query.minSalary() == null ? Double.NEGATIVE_INFINITY : query.minSalary();
+			maxSalary = query.maxSalary() == null ? Double.POSITIVE_INFINITY : query.maxSalary();
+			dateFiltered = query.joinedFrom() != null || query.joinedTo() != null;
+			joinedFrom = query.joinedFrom() == null ? Integer.MIN_VALUE + 1 : (int) query.joinedFrom().toEpochDay();
+			joinedTo = query.joinedTo() == null ? Integer.MAX_VALUE : (int) query.joinedTo().toEpochDay();
+
+			byDepartment = query.groupBy().contains(PayrollQuery.Dimension.DEPARTMENT);
+			byTenure = query.groupBy().contains(PayrollQuery.Dimension.TENURE);
+			byBand = query.groupBy().contains(PayrollQuery.Dimension.SALARY_BAND);
+			bandWidth = query.bandWidth();
+			if (byBand && !(bandWidth > 0)) {
+				throw new IllegalArgumentException("bandWidth must be positive");
+			}
+			cutoffs = byTenure ? cutoffs(query.asOf()) : new int[0];
+
+			long departmentSlots = byDepartment ? Math.max(1, departments.length) : 1;
+			long tenureSlots = byTenure ? cutoffs.length + 1 : 1;
+			long bandSlots = byBand ? (long) (PayrollSnapshot.this.maxSalary / bandWidth) + 2 : 1;
+			long total = departmentSlots * tenureSlots * bandSlots;
+			if (total > MAX_GROUPS) {
+				throw new IllegalArgumentException("Report would have up to " + total + " groups (limit "
+						+ MAX_GROUPS + "); use a wider bandWidth or fewer groupBy dimensions");
+			}
+			tenures = (int) tenureSlots;
+			bands = (int) bandSlots;
+			groups = (int) total;
+		}
+
+		private int[] cutoffs(LocalDate asOf) {
+			if (firstJoiningDay == NO_DATE || firstJoiningDay > asOf.toEpochDay()) {
+				return new int[] { (int) asOf.toEpochDay() };
+			}
+			int years = (int) ChronoUnit.YEARS.between(LocalDate.ofEpochDay(firstJoiningDay), asOf);
+			int[] days = new int[years + 1];
+			for (int k = 0; k <= years; k++) {
+				days[k] = (int) asOf.minusYears(k).toEpochDay();
+			}
+			return days;
+		}
+
+		// Group of row i, or -1 when the filters exclude it
+		int groupOf(int i) {
+			int code = departmentCodes[i];
+			if (!anyDepartment && code != departmentCode) {
+				return -1;
+			}
+			double salary = salaries[i];
+			if (salaryFiltered && !(salary >= minSalary && salary <= maxSalary)) {
+				return -1;
+			}
+			int day = joiningDays[i];
+			if (dateFiltered && (day == NO_DATE || day < joinedFrom || day > joinedTo)) {
+				return -1;
+			}
+			int group = byDepartment ? code * tenures * bands : 0;
+			if (byTenure) {
+				group += tenure(day) * bands;
+			}
+			if (byBand) {
+				group += Double.isNaN(salary) ? bands - 1 : (int) (salary / bandWidth);
+			}
+			return group;
+		}
+
+		// Completed years: the largest k whose cutoff is on or after the joining day
+		private int tenure(int day) {
+			if (day == NO_DATE || day > cutoffs[0]) {
+				return tenures - 1;
+			}
+			int low = 0;
+			int high = cutoffs.length - 1;
+			while (low < high) {
+				int mid = (low + high + 1) >>> 1;
+				if (cutoffs[mid] >= day) {
+					low = mid;
+				} else {
+					high = mid - 1;
+				}
+			}
+			return low;
+		}
+
+		PayrollReport.Group describe(int group, Totals totals) {
+			int band = group % bands;
+			int tenure = group / bands % tenures;
+			int code = group / bands / tenures;
+			String department = byDepartment ? departments[code] : null;
+			Integer tenureYears = byTenure && tenure < tenures - 1 ? tenure : null;
+			boolean salaried = byBand && band < bands - 1;
+			long count = totals.salaryCount[group];
+			return new PayrollReport.Group(department, tenureYears, salaried ? band * bandWidth : null,
+					salaried ? (band + 1) * bandWidth : null, totals.headcount[group], count, totals.salarySum[group],
+					count == 0 ? null : totals.salarySum[group] / count);
+		}
+	}
+
+	private static final class Totals {
+		private final long[] headcount;
+		private final long[] salaryCount;
+		private final double[] salarySum;
+
+		Totals(int groups) {
+			headcount = new long[groups];
+			salaryCount = new long[groups];
+			salarySum = new double[groups];
+		}
+
+		Totals merge(Totals other) {
+			for (int group = 0; group < headcount.length; group++) {
+				headcount[group] += other.headcount[group];
+				salaryCount[group] += other.salaryCount[group];
+				salarySum[group] += other.salarySum[group];
+			}
+			return this;
+		}
+	}
+
+	private final class Scan extends RecursiveTask<Totals> {
+
+		private final Plan plan;
+		private final int from;
+		private final int to;
+		private final int taskRows;
+
+		Scan(Plan plan, int from, int to, int taskRows) {
+			this.plan = plan;
+			this.from = from;
+			this.to = to;
+			this.taskRows = taskRows;
+		}
+
+		@Override
+		protected Totals compute() {
+			if (to - from > taskRows) {
+				int middle = (from + to) >>> 1;
+				Scan right = new Scan(plan, middle, to, taskRows);
+				right.fork();
+				Totals left = new Scan(plan, from, middle, taskRows).compute();
+				return left.merge(right.join());
+			}
+			Totals totals = new Totals(plan.groups);
+			for (int i = from; i < to; i++) {
+				int group = plan.groupOf(i);
+				if (group < 0) {
+					continue;
+				}
+				totals.headcount[group]++;
+				double salary = salaries[i];
+				if (!Double.isNaN(salary)) {
+					totals.salaryCount[group]++;
+					totals.salarySum[group] += salary;
+				}
+			}
+			return totals;
+		}
+	}
+
+	// Appends rows from a table scan; the arrays grow by doubling and the dictionary as departments appear
+	public static final class Builder {
+
+		private final Map<String, Integer> codes = new HashMap<>();
+		private final List<String> dictionary = new ArrayList<>();
+		private double[] salaries = new double[1024];
+		private int[] joiningDays = new int[1024];
+		private int[] departmentCodes = new int[1024];
+		private int rows;
+
+		public Builder add(Double salary, String department, LocalDate joiningDate) {
+			if (rows == salaries.length) {
+				int capacity = rows * 2;
+				salaries = Arrays.copyOf(salaries, capacity);
+				joiningDays = Arrays.copyOf(joiningDays, capacity);
+				departmentCodes = Arrays.copyOf(departmentCodes, capacity);
+			}
+			salaries[rows] = salary == null ? Double.NaN : salary;
+			joiningDays[rows] = joiningDate == null ? NO_DATE : (int) joiningDate.toEpochDay();
+			departmentCodes[rows] = codes.computeIfAbsent(department == null ? UNASSIGNED : department, d -> {
+				dictionary.add(d);
+				return dictionary.size() - 1;
+			});
+			rows++;
+			return this;
+		}
+
+		public PayrollSnapshot build(Instant takenAt) {
+			return new PayrollSnapshot(rows, salaries, joiningDays, departmentCodes, dictionary.toArray(String[]::new),
+					takenAt);
+		}
+	}
+}
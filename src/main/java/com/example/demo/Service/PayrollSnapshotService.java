@@ -0,0 +1,113 @@
+package com.example.demo.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.Model.EmployeeChangeEvent;
+import com.example.demo.Model.PayrollQuery;
+import com.example.demo.Model.PayrollReport;
+import com.example.demo.Repository.EmployeeRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+// Holds the current PayrollSnapshot for /api/employees/payroll. The snapshot is rebuilt from a scan of
+// the payroll columns at startup and again refresh-delay-ms after a committed change; changes arriving
+// while a rebuild is pending or running are folded into the next one, so a batch of thousands costs a
+// single scan. Reports may therefore trail the table by about the delay plus one scan.
+@Service
+public class PayrollSnapshotService {
+
+	private static final Logger log = LoggerFactory.getLogger(PayrollSnapshotService.class);
+
+	private final EmployeeRepository employeeRepository;
+	private final TransactionTemplate readOnlyTransaction;
+	private final long refreshDelayMs;
+	private final ScheduledExecutorService refresher;
+	private final AtomicBoolean refreshPending = new AtomicBoolean();
+	// Not a monitor: it is held across the scan's JDBC calls, which must not pin a carrier
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+	private final Timer rebuildTimer;
+	private volatile PayrollSnapshot snapshot = PayrollSnapshot.EMPTY;
+
+	public PayrollSnapshotService(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager,
+			@Value("${employee.payroll.refresh-delay-ms:2000}") long refreshDelayMs, MeterRegistry meterRegistry) {
+		this.employeeRepository = employeeRepository;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+		this.refreshDelayMs = refreshDelayMs;
+		this.refresher = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("payroll-snapshot-"));
+		this.rebuildTimer = Timer.builder("employee.payroll.snapshot.rebuild")
+				.description("Scanning the employees table into the columnar payroll snapshot")
+				.register(meterRegistry);
+		Gauge.builder("employee.payroll.snapshot.rows", this, service -> service.snapshot.rows())
+				.register(meterRegistry);
+	}
+
+	public PayrollReport report(PayrollQuery query) {
+		return snapshot.report(query);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEmployeeChange(EmployeeChangeEvent event) {
+		if (refreshPending.compareAndSet(false, true)) {
+			refresher.schedule(this::refresh, refreshDelayMs, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	// Serialized, so a slow scan can never replace the result of a later one
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		rebuildLock.lock();
+		try {
+			PayrollSnapshot rebuilt = rebuildTimer.record(() -> {
+				// Taken before the scan: a change committed during it is at most as old as the snapshot claims
+				Instant takenAt = Instant.now();
+				PayrollSnapshot.Builder builder = new PayrollSnapshot.Builder();
+				readOnlyTransaction.executeWithoutResult(status -> {
+					try (Stream<Object[]> rows = employeeRepository.streamPayrollColumns()) {
+						rows.forEach(row -> builder.add((Double) row[0], (String) row[1], (LocalDate) row[2]));
+					}
+				});
+				return builder.build(takenAt);
+			});
+			snapshot = rebuilt;
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	private void refresh() {
+		// Cleared first, so a change committed during the scan schedules another rebuild
+		refreshPending.set(false);
+		try {
+			rebuild();
+		} catch (RuntimeException e) {
+			log.warn("Rebuilding the payroll snapshot failed; reports keep the one taken at {}", snapshot.takenAt(), e);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		refresher.shutdownNow();
+	}
+}
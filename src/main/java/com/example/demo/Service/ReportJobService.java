@@ -0,0 +1,316 @@
+package com.example.demo.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.Model.EmployeeFileFormat;
+import com.example.demo.Model.ReportJob;
+import com.example.demo.Model.ReportType;
+import com.example.demo.Repository.ReportJobRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+// Runs /api/reports jobs on a bounded pool, off the request threads. Each job streams its rows from a
+// database cursor through gzip into <directory>/<job file>.part, which is renamed into place once complete,
+// so a file that exists is always whole. A job identical to one still queued or running is answered with
+// that job instead of being queued twice. Jobs are rows in report_jobs: ones a shutdown interrupted are
+// run again at startup, and finished ones are deleted with their files after the retention period.
+@Service
+public class ReportJobService {
+
+	private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+	private static final int COPY_BUFFER = 64 * 1024;
+	private static final int MAX_ERROR_LENGTH = 1000;
+
+	private final ReportJobRepository reportJobRepository;
+	private final EmployeeExportService employeeExportService;
+	private final Path directory;
+	private final Duration retention;
+	private final ThreadPoolExecutor executor;
+	// Dedupe key -> id of the queued or running job producing it, completed once its row is saved
+	private final Map<String, CompletableFuture<Long>> pending = new ConcurrentHashMap<>();
+	private final MeterRegistry meterRegistry;
+	private final Counter rejected;
+	private final Counter deduplicated;
+
+	public ReportJobService(ReportJobRepository reportJobRepository, EmployeeExportService employeeExportService,
+			@Value("${reports.directory:${java.io.tmpdir}/employee-reports}") String directory,
+			@Value("${reports.threads:2}") int threads,
+			@Value("${reports.queue-capacity:16}") int queueCapacity,
+			@Value("${reports.retention-hours:72}") long retentionHours, MeterRegistry meterRegistry) {
+		this.reportJobRepository = reportJobRepository;
+		this.employeeExportService = employeeExportService;
+		this.retention = Duration.ofHours(retentionHours);
+		try {
+			// Canonical, as Tomcat's sendfile only accepts canonical file names
+			this.directory = Files.createDirectories(Paths.get(directory)).toRealPath();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot create the report directory " + directory, e);
+		}
+		this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("report-"),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.meterRegistry = meterRegistry;
+		this.rejected = Counter.builder("reports.rejected").description("Report jobs refused because the queue was full")
+				.register(meterRegistry);
+		this.deduplicated = Counter.builder("reports.deduplicated")
+				.description("Report requests answered with an identical pending job").register(meterRegistry);
+		Gauge.builder("reports.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+		Gauge.builder("reports.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+	}
+
+	// Queues a report, or returns the identical one already pending. Throws ReportQueueFullException when
+	// the queue is full. The first of two identical requests claims the dedupe key before saving its job;
+	// the second waits for that save rather than on a lock, so no database call runs under a monitor.
+	public ReportJob submit(ReportType type, EmployeeFileFormat format, LocalDate joinedFrom,
+			LocalDate joinedTo, Long scheduleId) {
+		if (type == ReportType.NEW_JOINERS) {
+			if (joinedFrom == null || joinedTo == null) {
+				throw new IllegalArgumentException("A new-joiners report needs joinedFrom and joinedTo");
+			}
+			if (joinedFrom.isAfter(joinedTo)) {
+				throw new IllegalArgumentException("joinedFrom must not be after joinedTo");
+			}
+		} else {
+			joinedFrom = null;
+			joinedTo = null;
+		}
+		ReportJob job = new ReportJob(type, format, joinedFrom, joinedTo, scheduleId);
+		String key = job.dedupeKey();
+		CompletableFuture<Long> claim = new CompletableFuture<>();
+		for (CompletableFuture<Long> current; (current = pending.putIfAbsent(key, claim)) != null;) {
+			Optional<ReportJob> existing;
+			try {
+				existing = reportJobRepository.findById(current.join());
+			} catch (CompletionException | CancellationException e) {
+				// Its save failed and the claim is already gone
+				continue;
+			}
+			if (existing.isPresent() && existing.get().getStatus().isPending()) {
+				deduplicated.increment();
+				return existing.get();
+			}
+			// Finished, but run() has not released the key yet
+			pending.remove(key, current);
+		}
+
+		try {
+			job = reportJobRepository.save(job);
+		} catch (RuntimeException e) {
+			pending.remove(key, claim);
+			claim.completeExceptionally(e);
+			throw e;
+		}
+		claim.complete(job.getId());
+		if (!dispatch(job, claim)) {
+			reportJobRepository.delete(job);
+			throw new ReportQueueFullException("Report queue is full, retry shortly");
+		}
+		return job;
+	}
+
+	public Optional<ReportJob> find(Long id) {
+		return reportJobRepository.findById(id);
+	}
+
+	public List<ReportJob> recent() {
+		return reportJobRepository.findTop100ByOrderByIdDesc();
+	}
+
+	// The compressed result of a DONE job
+	public Path file(ReportJob job) {
+		return directory.resolve(job.fileName());
+	}
+
+	// Jobs that were queued or running when the application last stopped are run again from scratch
+	@EventListener(ApplicationReadyEvent.class)
+	public void resumeInterrupted() {
+		for (ReportJob job : reportJobRepository.findByStatusIn(EnumSet.of(ReportJob.Status.QUEUED,
+				ReportJob.Status.RUNNING))) {
+			job.setStatus(ReportJob.Status.QUEUED);
+			job.setStartedAt(null);
+			job = reportJobRepository.save(job);
+			CompletableFuture<Long> claim = CompletableFuture.completedFuture(job.getId());
+			pending.put(job.dedupeKey(), claim);
+			if (!dispatch(job, claim)) {
+				fail(job, "Report queue was full when resuming after a restart");
+			}
+		}
+	}
+
+	// The claim must already be in pending under the job's dedupe key
+	private boolean dispatch(ReportJob job, CompletableFuture<Long> claim) {
+		String key = job.dedupeKey();
+		Long id = job.getId();
+		try {
+			executor.execute(() -> run(id, key, claim));
+			return true;
+		} catch (RejectedExecutionException e) {
+			pending.remove(key, claim);
+			rejected.increment();
+			return false;
+		}
+	}
+
+	private void run(Long id, String key, CompletableFuture<Long> claim) {
+		try {
+			ReportJob job = reportJobRepository.findById(id).orElse(null);
+			if (job == null) {
+				return;
+			}
+			job.setStatus(ReportJob.Status.RUNNING);
+			job.setStartedAt(Instant.now());
+			job = reportJobRepository.save(job);
+
+			Path target = file(job);
+			Path partial = target.resolveSibling(target.getFileName() + ".part");
+			try {
+				long start = System.nanoTime();
+				long rows;
+				try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial), COPY_BUFFER)) {
+					rows = write(job, out);
+				}
+				Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				Timer.builder("reports.generation").tag("type", job.getType().getParameter())
+						.register(meterRegistry).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				job.setStatus(ReportJob.Status.DONE);
+				job.setFinishedAt(Instant.now());
+				job.setRowCount(rows);
+				job.setFileSize(Files.size(target));
+				reportJobRepository.save(job);
+				log.info("Report {} ({}) written: {} rows, {} bytes", id, job.getType(), rows, job.getFileSize());
+			} catch (Exception e) {
+				deleteQuietly(partial);
+				if (executor.isShutdown()) {
+					// Left RUNNING on purpose: resumeInterrupted runs it again after the restart
+					log.info("Report {} interrupted by shutdown", id);
+					return;
+				}
+				log.warn("Report {} failed", id, e);
+				fail(job, e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+			}
+		} catch (Exception e) {
+			log.error("Could not record the outcome of report {}", id, e);
+		} finally {
+			pending.remove(key, claim);
+		}
+	}
+
+	private long write(ReportJob job, OutputStream out) throws IOException {
+		return switch (job.getType()) {
+		case ROSTER -> employeeExportService.export(job.getFormat(), out);
+		case DEPARTMENT_SALARIES -> employeeExportService.exportDepartmentSalaries(job.getFormat(), out);
+		case NEW_JOINERS -> employeeExportService.exportJoinedBetween(job.getFormat(), job.getJoinedFrom(),
+				job.getJoinedTo(), out);
+		};
+	}
+
+	private void fail(ReportJob job, String error) {
+		job.setStatus(ReportJob.Status.FAILED);
+		job.setFinishedAt(Instant.now());
+		job.setError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+		reportJobRepository.save(job);
+	}
+
+	// Deletes finished jobs past retention with their files, then any file in the directory without a job
+	// (rows deleted by hand, .part files of a crashed write)
+	@Scheduled(fixedDelayString = "${reports.cleanup-interval-ms:3600000}",
+			initialDelayString = "${reports.cleanup-interval-ms:3600000}")
+	public void purgeExpired() {
+		Instant cutoff = Instant.now().minus(retention);
+		int jobs = 0;
+		for (ReportJob job : reportJobRepository.findFinishedBefore(cutoff)) {
+			deleteQuietly(file(job));
+			reportJobRepository.delete(job);
+			jobs++;
+		}
+
+		Map<Path, Long> files = new HashMap<>();
+		try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "report-*")) {
+			for (Path entry : entries) {
+				files.put(entry, jobId(entry));
+			}
+		} catch (IOException e) {
+			log.warn("Could not list report directory {}", directory, e);
+			return;
+		}
+		Set<Long> live = new HashSet<>();
+		reportJobRepository.findAllById(new HashSet<>(files.values())).forEach(job -> {
+			if (job.getStatus() != ReportJob.Status.FAILED) {
+				live.add(job.getId());
+			}
+		});
+		int orphans = 0;
+		for (Map.Entry<Path, Long> entry : files.entrySet()) {
+			if (!live.contains(entry.getValue())) {
+				deleteQuietly(entry.getKey());
+				orphans++;
+			}
+		}
+		if (jobs > 0 || orphans > 0) {
+			log.info("Report retention removed {} jobs and {} orphaned files", jobs, orphans);
+		}
+	}
+
+	// report-<id>-<type>.<ext>.gz[.part]; -1 for names this service did not write, so they count as orphans
+	private static Long jobId(Path file) {
+		String name = file.getFileName().toString();
+		int end = name.indexOf('-', "report-".length());
+		try {
+			return Long.valueOf(name.substring("report-".length(), end < 0 ? name.length() : end));
+		} catch (NumberFormatException e) {
+			return -1L;
+		}
+	}
+
+	private static void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.warn("Could not delete report file {}", file, e);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,9 @@
+package com.example.demo.Service;
+
+// Thrown when the report executor's queue is full; answered with 503 and Retry-After
+public class ReportQueueFullException extends RuntimeException {
+
+	public ReportQueueFullException(String message) {
+		super(message);
+	}
+}
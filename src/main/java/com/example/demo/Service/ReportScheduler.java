@@ -0,0 +1,101 @@
+package com.example.demo.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Service;
+
+import com.example.demo.Model.EmployeeFileFormat;
+import com.example.demo.Model.ReportSchedule;
+import com.example.demo.Model.ReportType;
+import com.example.demo.Repository.ReportScheduleRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+
+// Cron schedules for recurring reports, kept in report_schedules and registered with the application's
+// TaskScheduler at startup and on creation. A firing only enqueues a job through ReportJobService, so the
+// scheduler thread never runs a report, and a firing whose previous run is still pending reuses it.
+@Service
+public class ReportScheduler {
+
+	private static final Logger log = LoggerFactory.getLogger(ReportScheduler.class);
+
+	private final ReportScheduleRepository reportScheduleRepository;
+	private final ReportJobService reportJobService;
+	private final TaskScheduler taskScheduler;
+	private final Map<Long, ScheduledFuture<?>> registered = new ConcurrentHashMap<>();
+
+	public ReportScheduler(ReportScheduleRepository reportScheduleRepository, ReportJobService reportJobService,
+			TaskScheduler taskScheduler) {
+		this.reportScheduleRepository = reportScheduleRepository;
+		this.reportJobService = reportJobService;
+		this.taskScheduler = taskScheduler;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void registerAll() {
+		reportScheduleRepository.findAll().forEach(this::register);
+	}
+
+	public ReportSchedule create(ReportType type, EmployeeFileFormat format, String cron, Integer lookbackDays) {
+		if (cron == null || !CronExpression.isValidExpression(cron)) {
+			throw new IllegalArgumentException("cron must be a six-field cron expression, e.g. '0 0 2 * * *'");
+		}
+		if (type == ReportType.NEW_JOINERS) {
+			if (lookbackDays == null || lookbackDays < 1) {
+				throw new IllegalArgumentException("A new-joiners schedule needs lookbackDays of at least 1");
+			}
+		} else {
+			lookbackDays = null;
+		}
+		ReportSchedule schedule = reportScheduleRepository.save(new ReportSchedule(type, format, cron, lookbackDays));
+		register(schedule);
+		return schedule;
+	}
+
+	public List<ReportSchedule> list() {
+		return reportScheduleRepository.findAll();
+	}
+
+	public void delete(Long id) {
+		if (!reportScheduleRepository.existsById(id)) {
+			throw new EntityNotFoundException("Report schedule with ID " + id + " not found");
+		}
+		reportScheduleRepository.deleteById(id);
+		ScheduledFuture<?> future = registered.remove(id);
+		if (future != null) {
+			future.cancel(false);
+		}
+	}
+
+	private void register(ReportSchedule schedule) {
+		ScheduledFuture<?> future = taskScheduler.schedule(() -> fire(schedule),
+				new CronTrigger(schedule.getCron()));
+		ScheduledFuture<?> previous = registered.put(schedule.getId(), future);
+		if (previous != null) {
+			previous.cancel(false);
+		}
+	}
+
+	private void fire(ReportSchedule schedule) {
+		LocalDate today = LocalDate.now();
+		LocalDate from = schedule.getLookbackDays() == null ? null : today.minusDays(schedule.getLookbackDays() - 1);
+		try {
+			reportJobService.submit(schedule.getType(), schedule.getFormat(), from,
+					from == null ? null : today, schedule.getId());
+		} catch (RuntimeException e) {
+			// The next firing tries again; a missed run is not replayed
+			log.warn("Scheduled report {} ({}) could not be queued", schedule.getId(), schedule.getType(), e);
+		}
+	}
+}
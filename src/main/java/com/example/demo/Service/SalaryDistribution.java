@@ -0,0 +1,99 @@
+package com.example.demo.Service;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Running salary statistics that support removal as well as insertion. Percentiles come from
+// log-scaled buckets (~1% relative error); min/max from an exact multiset. Not thread-safe.
+final class SalaryDistribution {
+
+	private static final double LOG_BUCKET_WIDTH = Math.log(1.01);
+	private static final int ZERO_BUCKET = Integer.MIN_VALUE;
+
+	private final TreeMap<Double, Long> values = new TreeMap<>();
+	private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+	private long headcount;
+	private long count;
+	private double sum;
+
+	// Employees without a salary still count towards headcount
+	void add(Double salary) {
+		headcount++;
+		if (salary == null) {
+			return;
+		}
+		count++;
+		sum += salary;
+		values.merge(salary, 1L, Long::sum);
+		buckets.merge(bucket(salary), 1L, Long::sum);
+	}
+
+	void remove(Double salary) {
+		headcount--;
+		if (salary == null) {
+			return;
+		}
+		count--;
+		sum -= salary;
+		decrement(values, salary);
+		decrement(buckets, bucket(salary));
+	}
+
+	void merge(SalaryDistribution other) {
+		headcount += other.headcount;
+		count += other.count;
+		sum += other.sum;
+		other.values.forEach((value, n) -> values.merge(value, n, Long::sum));
+		other.buckets.forEach((bucket, n) -> buckets.merge(bucket, n, Long::sum));
+	}
+
+	long headcount() {
+		return headcount;
+	}
+
+	long count() {
+		return count;
+	}
+
+	double sum() {
+		return count == 0 ? 0 : sum;
+	}
+
+	Double min() {
+		return values.isEmpty() ? null : values.firstKey();
+	}
+
+	Double max() {
+		return values.isEmpty() ? null : values.lastKey();
+	}
+
+	Double mean() {
+		return count == 0 ? null : sum / count;
+	}
+
+	// Nearest-rank percentile, reported as the bucket's midpoint clamped to the observed range
+	Double percentile(double p) {
+		if (count == 0) {
+			return null;
+		}
+		long rank = Math.max(1, (long) Math.ceil(p / 100.0 * count));
+		long seen = 0;
+		for (Map.Entry<Integer, Long> entry : buckets.entrySet()) {
+			seen += entry.getValue();
+			if (seen >= rank) {
+				double estimate = entry.getKey() == ZERO_BUCKET ? 0
+						: Math.exp((entry.getKey() + 0.5) * LOG_BUCKET_WIDTH);
+				return Math.min(Math.max(estimate, min()), max());
+			}
+		}
+		return max();
+	}
+
+	private static int bucket(double salary) {
+		return salary <= 0 ? ZERO_BUCKET : (int) Math.floor(Math.log(salary) / LOG_BUCKET_WIDTH);
+	}
+
+	private static <K> void decrement(TreeMap<K, Long> map, K key) {
+		map.computeIfPresent(key, (k, n) -> n <= 1 ? null : n - 1);
+	}
+}
@@ -0,0 +1,191 @@
+package com.example.demo.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.Model.EmployeeChangeEvent;
+import com.example.demo.Model.SalaryStats;
+import com.example.demo.Repository.DepartmentTotals;
+import com.example.demo.Repository.EmployeeRepository;
+
+// Per-department salary aggregate kept in memory and updated from committed employee changes,
+// so /api/employees/stats never scans the table. A periodic GROUP BY detects drift and rebuilds.
+// A missing department (the column is NOT NULL, but nothing here relies on it) is the null key, reported
+// as a null department, so it can never merge with a real department's name.
+@Service
+public class SalaryStatsService {
+
+	private static final Logger log = LoggerFactory.getLogger(SalaryStatsService.class);
+	private static final String OVERALL = "*";
+
+	private final EmployeeRepository employeeRepository;
+	private final TransactionTemplate readOnlyTransaction;
+
+	// Where a rebuild's scan found each employee
+	private record Position(String department, Double salary) {
+	}
+
+	// A lock rather than a monitor: it is held across the scan's JDBC calls, which must not pin a carrier
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+
+	// Guarded by this
+	private Map<String, SalaryDistribution> departments = departmentMap();
+	// Changes committed while a rebuild scans, replayed onto its result before the swap; null when idle
+	private List<EmployeeChangeEvent> duringRebuild;
+
+	public SalaryStatsService(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager) {
+		this.employeeRepository = employeeRepository;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onEmployeeChange(EmployeeChangeEvent event) {
+		if (event.before() != null) {
+			departments.computeIfAbsent(event.before().department(), d -> new SalaryDistribution())
+					.remove(event.before().salary());
+		}
+		if (event.after() != null) {
+			departments.computeIfAbsent(event.after().department(), d -> new SalaryDistribution())
+					.add(event.after().salary());
+		}
+		departments.values().removeIf(distribution -> distribution.headcount() <= 0);
+		if (duringRebuild != null) {
+			duringRebuild.add(event);
+		}
+	}
+
+	public synchronized SalaryStats.Report report() {
+		SalaryDistribution overall = new SalaryDistribution();
+		List<SalaryStats> perDepartment = new ArrayList<>(departments.size());
+		departments.forEach((department, distribution) -> {
+			perDepartment.add(toStats(department, distribution));
+			overall.merge(distribution);
+		});
+		return new SalaryStats.Report(toStats(OVERALL, overall), perDepartment);
+	}
+
+	// The scan does not block change events: they keep updating the live map and are also buffered, then
+	// replayed onto the scanned result under the lock, right before it replaces the live map
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		rebuildLock.lock();
+		try {
+			synchronized (this) {
+				duringRebuild = new ArrayList<>();
+			}
+			try {
+				Map<String, SalaryDistribution> rebuilt = departmentMap();
+				Map<Long, Position> scanned = new HashMap<>();
+				readOnlyTransaction.executeWithoutResult(status -> {
+					try (Stream<Object[]> rows = employeeRepository.streamDepartmentSalaries()) {
+						rows.forEach(row -> {
+							Position position = new Position((String) row[1], (Double) row[2]);
+							scanned.put((Long) row[0], position);
+							rebuilt.computeIfAbsent(position.department(), d -> new SalaryDistribution())
+									.add(position.salary());
+						});
+					}
+				});
+				synchronized (this) {
+					duringRebuild.forEach(event -> replay(rebuilt, scanned, event));
+					departments = rebuilt;
+				}
+			} finally {
+				synchronized (this) {
+					duringRebuild = null;
+				}
+			}
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	// The scan may have read the employee before this change, after it or after a later one, so the change
+	// is replayed as "the employee is now event.after()" relative to what the scan last recorded for it
+	private static void replay(Map<String, SalaryDistribution> rebuilt, Map<Long, Position> scanned,
+			EmployeeChangeEvent event) {
+		Position now = event.after() == null ? null
+				: new Position(event.after().department(), event.after().salary());
+		Position seen = scanned.get(event.id());
+		if (Objects.equals(seen, now)) {
+			return;
+		}
+		if (seen != null) {
+			rebuilt.computeIfAbsent(seen.department(), d -> new SalaryDistribution()).remove(seen.salary());
+		}
+		if (now != null) {
+			rebuilt.computeIfAbsent(now.department(), d -> new SalaryDistribution()).add(now.salary());
+			scanned.put(event.id(), now);
+		} else {
+			scanned.remove(event.id());
+		}
+		rebuilt.values().removeIf(distribution -> distribution.headcount() <= 0);
+	}
+
+	// Compares headcount, salary count and sum per department with the database; any mismatch
+	// (e.g. writes that bypassed the service layer) triggers a full rebuild
+	@Scheduled(fixedDelayString = "${employee.stats.reconcile-interval-ms:300000}",
+			initialDelayString = "${employee.stats.reconcile-interval-ms:300000}")
+	public void reconcile() {
+		List<DepartmentTotals> totals = employeeRepository.sumSalariesByDepartment();
+		Map<String, DepartmentTotals> expected = new HashMap<>();
+		totals.forEach(row -> expected.put(row.getDepartment(), row));
+
+		List<String> drifted = new ArrayList<>();
+		synchronized (this) {
+			for (String department : union(expected.keySet(), departments.keySet())) {
+				DepartmentTotals row = expected.get(department);
+				SalaryDistribution distribution = departments.get(department);
+				if (row == null || distribution == null || row.getHeadcount() != distribution.headcount()
+						|| row.getSalaryCount() != distribution.count()
+						|| !closeEnough(row.getSalarySum() == null ? 0 : row.getSalarySum(), distribution.sum())) {
+					drifted.add(department);
+				}
+			}
+		}
+		if (!drifted.isEmpty()) {
+			log.warn("Salary aggregate drifted from the database for departments {}; rebuilding", drifted);
+			rebuild();
+		}
+	}
+
+	private static List<String> union(Set<String> a, Set<String> b) {
+		List<String> all = new ArrayList<>(a);
+		b.stream().filter(key -> !a.contains(key)).forEach(all::add);
+		return all;
+	}
+
+	// Sums are maintained incrementally in floating point, so allow rounding noise
+	private static boolean closeEnough(double expected, double actual) {
+		return Math.abs(expected - actual) <= Math.max(0.01, Math.abs(expected) * 1e-9);
+	}
+
+	private static Map<String, SalaryDistribution> departmentMap() {
+		return new TreeMap<>(Comparator.nullsLast(Comparator.<String>naturalOrder()));
+	}
+
+	private static SalaryStats toStats(String department, SalaryDistribution distribution) {
+		return new SalaryStats(department, distribution.headcount(), distribution.count(), distribution.sum(),
+				distribution.min(), distribution.max(), distribution.mean(), distribution.percentile(50),
+				distribution.percentile(90), distribution.percentile(99));
+	}
+}
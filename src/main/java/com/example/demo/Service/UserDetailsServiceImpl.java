@@ -2,6 +2,7 @@ package com.example.demo.Service;
 
 import com.example.demo.Model.AppUser;
 import com.example.demo.Repository.UserRepository;
+import com.example.demo.Security.AuthMetrics;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -15,15 +16,17 @@ import java.util.Collections;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
 	private final UserRepository userRepository;
+	private final AuthMetrics authMetrics;
 
 	@Autowired
-	public UserDetailsServiceImpl(UserRepository userRepository) {
+	public UserDetailsServiceImpl(UserRepository userRepository, AuthMetrics authMetrics) {
 		this.userRepository = userRepository;
+		this.authMetrics = authMetrics;
 	}
 
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		AppUser user = userRepository.findByUsername(username)
+		AppUser user = authMetrics.timeUserLookup(() -> userRepository.findByUsername(username))
 				.orElseThrow(() -> new UsernameNotFoundException("User not found with User name: " + username));
 
 		SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + user.getRole().name());
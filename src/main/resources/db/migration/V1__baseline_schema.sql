@@ -0,0 +1,28 @@
+-- Schema as previously generated by Hibernate from AppUser and Employee
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE employees_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+	id BIGINT NOT NULL,
+	username VARCHAR(255) NOT NULL,
+	password VARCHAR(255) NOT NULL,
+	role ENUM ('ADMIN', 'EMPLOYEE'),
+	CONSTRAINT pk_users PRIMARY KEY (id),
+	CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE employees (
+	id BIGINT NOT NULL,
+	first_name VARCHAR(255) NOT NULL,
+	last_name VARCHAR(255) NOT NULL,
+	email VARCHAR(255) NOT NULL,
+	salary FLOAT(53),
+	department VARCHAR(255) NOT NULL,
+	joining_date DATE,
+	version BIGINT DEFAULT 0 NOT NULL,
+	user_id BIGINT,
+	CONSTRAINT pk_employees PRIMARY KEY (id),
+	CONSTRAINT uk_employees_user_id UNIQUE (user_id),
+	CONSTRAINT fk_employees_user_id FOREIGN KEY (user_id) REFERENCES users (id),
+	CONSTRAINT ck_employees_salary CHECK (salary >= 0)
+);
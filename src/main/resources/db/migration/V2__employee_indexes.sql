@@ -0,0 +1,13 @@
+-- Lookups: existsByEmail, findExistingEmails and the import duplicate check
+CREATE INDEX ix_employees_email ON employees (email);
+
+-- Department filter, findSalariedSnapshotsByDepartment and scaleSalaries; salary rides along so the
+-- department + salary range filter is answered from one index
+CREATE INDEX ix_employees_department_salary ON employees (department, salary);
+
+-- Salary range filter without a department
+CREATE INDEX ix_employees_salary ON employees (salary);
+
+-- Keyset pagination: one index per EmployeeSortField, id as the tie-breaker (ID itself uses the primary key)
+CREATE INDEX ix_employees_last_name_id ON employees (last_name, id);
+CREATE INDEX ix_employees_joining_date_id ON employees (joining_date, id);
@@ -0,0 +1,34 @@
+-- Asynchronous report jobs (ReportJobService) and the cron schedules that enqueue them (ReportScheduler)
+CREATE SEQUENCE report_jobs_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE report_schedules_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE report_schedules (
+	id BIGINT NOT NULL,
+	type ENUM ('ROSTER', 'DEPARTMENT_SALARIES', 'NEW_JOINERS') NOT NULL,
+	format ENUM ('NDJSON', 'CSV') NOT NULL,
+	cron VARCHAR(255) NOT NULL,
+	lookback_days INTEGER,
+	created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+	CONSTRAINT pk_report_schedules PRIMARY KEY (id)
+);
+
+CREATE TABLE report_jobs (
+	id BIGINT NOT NULL,
+	type ENUM ('ROSTER', 'DEPARTMENT_SALARIES', 'NEW_JOINERS') NOT NULL,
+	format ENUM ('NDJSON', 'CSV') NOT NULL,
+	joined_from DATE,
+	joined_to DATE,
+	status ENUM ('QUEUED', 'RUNNING', 'DONE', 'FAILED') NOT NULL,
+	schedule_id BIGINT,
+	created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+	started_at TIMESTAMP(6) WITH TIME ZONE,
+	finished_at TIMESTAMP(6) WITH TIME ZONE,
+	row_count BIGINT,
+	file_size BIGINT,
+	error VARCHAR(1000),
+	CONSTRAINT pk_report_jobs PRIMARY KEY (id)
+);
+
+-- Startup recovery of QUEUED/RUNNING jobs, and the retention sweep over finished ones
+CREATE INDEX ix_report_jobs_status ON report_jobs (status);
+CREATE INDEX ix_report_jobs_finished_at ON report_jobs (finished_at);
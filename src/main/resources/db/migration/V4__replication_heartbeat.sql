@@ -0,0 +1,9 @@
+-- One row, stamped on the primary by ReplicaHeartbeat and read back from the replica: the stamp the replica
+-- shows is how far it has replicated, so its age is the replication lag
+CREATE TABLE replication_heartbeat (
+	id INTEGER NOT NULL,
+	beat_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+	CONSTRAINT pk_replication_heartbeat PRIMARY KEY (id)
+);
+
+INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, CURRENT_TIMESTAMP);
@@ -0,0 +1,78 @@
+package com.example.demo.Benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.DemoAppApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Boots the real application against its in-memory H2 for benchmarks that need Spring beans
+public final class BenchmarkContext {
+
+	// For JwtUtil instances built outside a context; started contexts take jwt_secret from the test config
+	public static final String JWT_SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+	static final String[] DEPARTMENTS = { "Engineering", "Finance", "Sales", "Marketing", "HR", "Support" };
+
+	private BenchmarkContext() {
+	}
+
+	public static ConfigurableApplicationContext start(String... extraProperties) {
+		// Passed as command-line arguments so they override application.properties
+		List<String> args = new ArrayList<>(List.of(
+				"--server.port=0",
+				"--spring.main.banner-mode=off",
+				"--logging.level.root=WARN",
+				"--logging.level.org.springframework.security=WARN"));
+		for (String property : extraProperties) {
+			args.add("--" + property);
+		}
+		return new SpringApplicationBuilder(DemoAppApplication.class).run(args.toArray(String[]::new));
+	}
+
+	public static URI baseUri(ConfigurableApplicationContext context) {
+		return URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+	}
+
+	// Logs in as the seeded admin over HTTP and returns the bearer token
+	public static String adminToken(HttpClient httpClient, URI baseUri) throws Exception {
+		ObjectMapper objectMapper = new ObjectMapper();
+		HttpResponse<String> login = httpClient.send(HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(
+						objectMapper.writeValueAsString(Map.of("username", "admin", "password", "123"))))
+				.build(), HttpResponse.BodyHandlers.ofString());
+		return objectMapper.readTree(login.body()).get("token").asText();
+	}
+
+	// Inserts synthetic employees with ids 1..rows directly over JDBC; far faster than going through JPA
+	public static void seedEmployees(ConfigurableApplicationContext context, int rows) {
+		JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+		LocalDate start = LocalDate.of(2010, 1, 1);
+		List<Object[]> batch = new ArrayList<>(1000);
+		for (int i = 1; i <= rows; i++) {
+			batch.add(new Object[] { (long) i, "First" + i, "Last" + (i * 7919 % rows), "bench" + i + "@example.com",
+					30000.0 + (i * 37 % 90000), DEPARTMENTS[i % DEPARTMENTS.length],
+					Date.valueOf(start.plusDays(i % 5000)), 0L });
+			if (batch.size() == 1000 || i == rows) {
+				jdbc.batchUpdate("INSERT INTO employees (id, first_name, last_name, email, salary, department, "
+						+ "joining_date, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+				batch.clear();
+			}
+		}
+		// Move the pooled sequence past the seeded ids so JPA inserts do not collide with them
+		jdbc.execute("ALTER SEQUENCE employees_seq RESTART WITH " + (rows + 100));
+	}
+}
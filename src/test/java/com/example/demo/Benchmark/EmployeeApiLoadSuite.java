@@ -0,0 +1,347 @@
+package com.example.demo.Benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// HTTP load against the real app on its embedded H2: mvn -Pload test [-Dload.concurrency=...]
+//
+// Logs in as admin, creates load.employees employees and logs each one in, then runs a weighted mix of
+// GET/PUT/update-credentials/DELETE for the configured duration. Clients are virtual threads, so high
+// concurrency costs next to nothing on the load side. Each client owns one employee session at a time,
+// so revoking a token on a credential change never breaks another client. With a target rate,
+// latency is measured from each request's scheduled start, so a stalled server is not hidden by clients
+// that simply stop sending (coordinated omission). Fails when an SLO in load-test.properties is missed.
+public final class EmployeeApiLoadSuite {
+
+	enum Endpoint {
+		LOGIN("login", "POST /api/auth/login"),
+		CREATE("create", "POST /api/employees"),
+		GET("get", "GET /api/employees/{id}"),
+		UPDATE("update", "PUT /api/employees/{id}"),
+		UPDATE_CREDENTIALS("update-credentials", "PUT /api/employees/{id}/update-credentials"),
+		DELETE("delete", "DELETE /api/employees/{id}");
+
+		private final String key;
+		private final String label;
+
+		Endpoint(String key, String label) {
+			this.key = key;
+			this.label = label;
+		}
+	}
+
+	private static final class Session {
+		private long employeeId;
+		private String username;
+		private String password;
+		private String token;
+	}
+
+	private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+	private final Properties settings;
+	private final URI baseUri;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final HttpClient httpClient;
+	private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+	private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+	private final AtomicLong emailSequence = new AtomicLong();
+	private volatile boolean measuring;
+	private String adminToken;
+
+	private EmployeeApiLoadSuite(Properties settings, URI baseUri) {
+		this.settings = settings;
+		this.baseUri = baseUri;
+		this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(10)).build();
+		for (Endpoint endpoint : Endpoint.values()) {
+			latencies.put(endpoint, new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3));
+			errors.put(endpoint, new LongAdder());
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		Properties settings = loadSettings();
+		// Devtools would otherwise restart the app in a fresh class loader when launched from exec:java
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		// Every simulated client logs in from the same address, which the login rate limiter would throttle
+		try (ConfigurableApplicationContext context = BenchmarkContext.start("security.login.rate-limit.enabled=false")) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			EmployeeApiLoadSuite suite = new EmployeeApiLoadSuite(settings, URI.create("http://localhost:" + port));
+			double seconds = suite.run();
+			List<String> violations = suite.report(seconds, System.out);
+			if (!violations.isEmpty()) {
+				throw new IllegalStateException("SLO violated: " + String.join("; ", violations));
+			}
+		}
+	}
+
+	private static Properties loadSettings() throws IOException {
+		Properties settings = new Properties();
+		try (InputStream in = EmployeeApiLoadSuite.class.getResourceAsStream("/load-test.properties")) {
+			settings.load(in);
+		}
+		System.getProperties().stringPropertyNames().stream().filter(key -> key.startsWith("load."))
+				.forEach(key -> settings.setProperty(key, System.getProperty(key)));
+		return settings;
+	}
+
+	// Returns the length of the measured window in seconds
+	private double run() throws Exception {
+		int concurrency = intSetting("load.concurrency");
+		int employees = intSetting("load.employees");
+		if (employees < concurrency) {
+			throw new IllegalArgumentException("load.employees must be at least load.concurrency");
+		}
+		double ratePerSecond = Double.parseDouble(settings.getProperty("load.rate-per-second"));
+		long warmupNanos = TimeUnit.SECONDS.toNanos(intSetting("load.warmup-seconds"));
+		long durationNanos = TimeUnit.SECONDS.toNanos(intSetting("load.duration-seconds"));
+		int[] mix = { intSetting("load.mix.get"), intSetting("load.mix.update"), intSetting("load.mix.credentials"),
+				intSetting("load.mix.delete") };
+
+		adminToken = login("admin", "123", System.nanoTime()).token;
+
+		ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+		try {
+			BlockingQueue<Session> sessions = new ArrayBlockingQueue<>(employees);
+			List<Future<Session>> created = new ArrayList<>();
+			for (int i = 0; i < employees; i++) {
+				created.add(clients.submit(this::newSession));
+			}
+			for (Future<Session> session : created) {
+				sessions.add(session.get());
+			}
+
+			// Each client keeps its own schedule so the clients together offer ratePerSecond
+			long intervalNanos = ratePerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * concurrency / ratePerSecond)
+					: 0;
+			long start = System.nanoTime();
+			long measureFrom = start + warmupNanos;
+			long end = measureFrom + durationNanos;
+			List<Future<?>> running = new ArrayList<>();
+			for (int i = 0; i < concurrency; i++) {
+				long firstStart = start + (intervalNanos * i / concurrency);
+				running.add(clients.submit(() -> {
+					clientLoop(sessions, mix, intervalNanos, firstStart, end);
+					return null;
+				}));
+			}
+			LockSupport.parkNanos(Math.max(0, measureFrom - System.nanoTime()));
+			measuring = true;
+			for (Future<?> client : running) {
+				client.get();
+			}
+			measuring = false;
+			return (System.nanoTime() - measureFrom) / 1e9;
+		} finally {
+			clients.shutdownNow();
+		}
+	}
+
+	private void clientLoop(BlockingQueue<Session> sessions, int[] mix, long intervalNanos, long firstStart, long end)
+			throws InterruptedException {
+		int totalWeight = mix[0] + mix[1] + mix[2] + mix[3];
+		long scheduled = firstStart;
+		while (true) {
+			if (intervalNanos > 0) {
+				LockSupport.parkNanos(scheduled - System.nanoTime());
+			} else {
+				scheduled = System.nanoTime();
+			}
+			if (scheduled >= end) {
+				return;
+			}
+			Session session = sessions.take();
+			try {
+				int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+				if (pick < mix[0]) {
+					get(session, scheduled);
+				} else if (pick < mix[0] + mix[1]) {
+					update(session, scheduled);
+				} else if (pick < mix[0] + mix[1] + mix[2]) {
+					updateCredentials(session, scheduled);
+				} else {
+					session = replace(session, scheduled);
+				}
+			} catch (IOException e) {
+				// Already counted against the endpoint that failed; keep the client going
+			} finally {
+				sessions.put(session);
+			}
+			scheduled += intervalNanos;
+		}
+	}
+
+	private Session newSession() throws IOException {
+		long n = emailSequence.incrementAndGet();
+		String email = "load-" + n + "@example.com";
+		HttpResponse<String> response = send(Endpoint.CREATE, post("/api/employees", adminToken, Map.of(
+				"firstName", "Load", "lastName", "Client" + n, "email", email, "salary", 50000 + n % 1000,
+				"department", "Engineering")), System.nanoTime());
+		Session session = login(email, "123", System.nanoTime());
+		session.employeeId = objectMapper.readTree(response.body()).get("id").asLong();
+		return session;
+	}
+
+	private Session login(String username, String password, long scheduled) throws IOException {
+		HttpResponse<String> response = send(Endpoint.LOGIN,
+				post("/api/auth/login", null, Map.of("username", username, "password", password)), scheduled);
+		JsonNode body = objectMapper.readTree(response.body());
+		Session session = new Session();
+		session.username = username;
+		session.password = password;
+		session.token = body.get("token").asText();
+		return session;
+	}
+
+	private void get(Session session, long scheduled) throws IOException {
+		send(Endpoint.GET, request("/api/employees/" + session.employeeId, session.token).GET().build(), scheduled);
+	}
+
+	private void update(Session session, long scheduled) throws IOException {
+		long n = ThreadLocalRandom.current().nextLong(1000);
+		send(Endpoint.UPDATE, put("/api/employees/" + session.employeeId, adminToken, Map.of("firstName", "Load",
+				"lastName", "Updated" + n, "email", session.username, "salary", 50000 + n, "department", "Sales")),
+				scheduled);
+	}
+
+	// Changing the password revokes the session's token, so the client logs in again with the new one
+	private void updateCredentials(Session session, long scheduled) throws IOException {
+		String password = "load-" + emailSequence.incrementAndGet();
+		send(Endpoint.UPDATE_CREDENTIALS, put("/api/employees/" + session.employeeId + "/update-credentials",
+				session.token, Map.of("password", password)), scheduled);
+		Session renewed = login(session.username, password, System.nanoTime());
+		session.password = password;
+		session.token = renewed.token;
+	}
+
+	private Session replace(Session session, long scheduled) throws IOException {
+		send(Endpoint.DELETE, request("/api/employees/" + session.employeeId, adminToken).DELETE().build(),
+				scheduled);
+		return newSession();
+	}
+
+	private HttpResponse<String> send(Endpoint endpoint, HttpRequest request, long scheduled) throws IOException {
+		HttpResponse<String> response;
+		try {
+			response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+		} catch (IOException e) {
+			record(endpoint, scheduled, false);
+			throw e;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		}
+		boolean ok = response.statusCode() / 100 == 2;
+		record(endpoint, scheduled, ok);
+		if (!ok) {
+			throw new IOException(endpoint.label + " returned " + response.statusCode() + ": " + response.body());
+		}
+		return response;
+	}
+
+	private void record(Endpoint endpoint, long scheduled, boolean ok) {
+		if (!measuring) {
+			return;
+		}
+		long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+		latencies.get(endpoint).recordValue(Math.min(Math.max(micros, 1), MAX_TRACKABLE_MICROS));
+		if (!ok) {
+			errors.get(endpoint).increment();
+		}
+	}
+
+	private HttpRequest.Builder request(String path, String token) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(30));
+		if (token != null) {
+			builder.header("Authorization", "Bearer " + token);
+		}
+		return builder;
+	}
+
+	private HttpRequest post(String path, String token, Map<String, Object> body) throws IOException {
+		return request(path, token).header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body))).build();
+	}
+
+	private HttpRequest put(String path, String token, Map<String, Object> body) throws IOException {
+		return request(path, token).header("Content-Type", "application/json")
+				.PUT(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body))).build();
+	}
+
+	private List<String> report(double seconds, PrintStream out) {
+		List<String> violations = new ArrayList<>();
+		long totalCount = 0;
+		long totalErrors = 0;
+		out.printf("%n%-44s %8s %7s %9s %9s %9s %9s %9s%n", "Endpoint", "count", "errors", "req/s", "p50 ms",
+				"p99 ms", "p999 ms", "max ms");
+		for (Endpoint endpoint : Endpoint.values()) {
+			Histogram histogram = latencies.get(endpoint);
+			long count = histogram.getTotalCount();
+			long failed = errors.get(endpoint).sum();
+			totalCount += count;
+			totalErrors += failed;
+			if (count == 0) {
+				continue;
+			}
+			double p99 = millis(histogram.getValueAtPercentile(99));
+			out.printf("%-44s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint.label, count, failed, count / seconds,
+					millis(histogram.getValueAtPercentile(50)), p99, millis(histogram.getValueAtPercentile(99.9)),
+					millis(histogram.getMaxValue()));
+			double p99Slo = Double.parseDouble(settings.getProperty("load.slo." + endpoint.key + ".p99-ms", "0"));
+			if (p99Slo > 0 && p99 > p99Slo) {
+				violations.add(String.format("%s p99 %.2f ms > %.2f ms", endpoint.label, p99, p99Slo));
+			}
+		}
+		double throughput = totalCount / seconds;
+		double errorRate = totalCount == 0 ? 0 : (double) totalErrors / totalCount;
+		out.printf("%-44s %8d %7d %9.1f%n%n", "total", totalCount, totalErrors, throughput);
+
+		double minThroughput = Double.parseDouble(settings.getProperty("load.slo.min-throughput"));
+		if (throughput < minThroughput) {
+			violations.add(String.format("throughput %.1f req/s < %.1f req/s", throughput, minThroughput));
+		}
+		double maxErrorRate = Double.parseDouble(settings.getProperty("load.slo.max-error-rate"));
+		if (errorRate > maxErrorRate) {
+			violations.add(String.format("error rate %.4f > %.4f", errorRate, maxErrorRate));
+		}
+		return violations;
+	}
+
+	private int intSetting(String key) {
+		return Integer.parseInt(settings.getProperty(key).trim());
+	}
+
+	private static double millis(long micros) {
+		return micros / 1000.0;
+	}
+}
@@ -0,0 +1,89 @@
+package com.example.demo.Benchmark;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import com.example.demo.Controller.EmployeeController;
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.EmployeeFileFormat;
+import com.example.demo.Model.ImportResult;
+import com.example.demo.Service.EmployeeImportService;
+
+// Bulk import versus one createEmployee call per row. Scores are time per row; rows/sec = 1 / score.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class EmployeeImportBenchmark {
+
+	private static final int ROWS = 200;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeImportService employeeImportService;
+	private EmployeeController employeeController;
+	private int wave;
+	private String csv;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContext.start();
+		employeeImportService = context.getBean(EmployeeImportService.class);
+		employeeController = context.getBean(EmployeeController.class);
+	}
+
+	// Each invocation onboards people with fresh emails so nothing is rejected as a duplicate
+	@Setup(Level.Invocation)
+	public void nextWave() {
+		wave++;
+		StringBuilder file = new StringBuilder(EmployeeFileFormat.CSV_HEADER).append('\n');
+		for (int i = 0; i < ROWS; i++) {
+			file.append(",First").append(i).append(",Last").append(i).append(",bulk").append(wave).append('-')
+					.append(i).append("@example.com,50000,Engineering,2024-01-15\n");
+		}
+		csv = file.toString();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public ImportResult bulkImport() {
+		return employeeImportService.importEmployees(EmployeeFileFormat.CSV,
+				new BufferedReader(new StringReader(csv)));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public void singlePost(Blackhole blackhole) {
+		for (int i = 0; i < ROWS; i++) {
+			Employee employee = new Employee("First" + i, "Last" + i, "single" + wave + "-" + i + "@example.com",
+					50000.0, "Engineering", LocalDate.of(2024, 1, 15));
+			blackhole.consume(employeeController.createEmployee(employee,
+					new BeanPropertyBindingResult(employee, "employee")));
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.example.demo.Benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.EmployeePage;
+import com.example.demo.Model.EmployeeQuery;
+import com.example.demo.Model.EmployeeSnapshot;
+import com.example.demo.Model.EmployeeSortField;
+import com.example.demo.Repository.EmployeeRepository;
+import com.example.demo.Service.EmployeeCursor;
+import com.example.demo.Service.EmployeeService;
+
+// Unbounded findAll versus first and deep keyset pages: page latency should not grow with depth
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeListingBenchmark {
+
+	private static final int PAGE_SIZE = 50;
+
+	@Param({ "10000", "50000" })
+	int rows;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeRepository employeeRepository;
+	private EmployeeService employeeService;
+	private String deepIdCursor;
+	private String deepLastNameCursor;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContext.start();
+		BenchmarkContext.seedEmployees(context, rows);
+		employeeRepository = context.getBean(EmployeeRepository.class);
+		employeeService = context.getBean(EmployeeService.class);
+
+		// Cursors positioned a single page before the end of the table
+		deepIdCursor = new EmployeeCursor(EmployeeSortField.ID, false, (long) rows - PAGE_SIZE, null).encode();
+		EmployeeSnapshot nearEnd = employeeService
+				.listEmployees(query(EmployeeSortField.LAST_NAME, null, 1, true)).items().get(0);
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			nearEnd = employeeService.listEmployees(query(EmployeeSortField.LAST_NAME,
+					EmployeeCursor.of(EmployeeSortField.LAST_NAME, true, nearEnd).encode(), 1, true)).items().get(0);
+		}
+		deepLastNameCursor = new EmployeeCursor(EmployeeSortField.LAST_NAME, false, nearEnd.id(),
+				nearEnd.lastName()).encode();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Employee> findAll() {
+		return employeeRepository.findAll();
+	}
+
+	@Benchmark
+	public EmployeePage<EmployeeSnapshot> firstPageById() {
+		return employeeService.listEmployees(query(EmployeeSortField.ID, null, PAGE_SIZE, false));
+	}
+
+	@Benchmark
+	public EmployeePage<EmployeeSnapshot> deepPageById() {
+		return employeeService.listEmployees(query(EmployeeSortField.ID, deepIdCursor, PAGE_SIZE, false));
+	}
+
+	@Benchmark
+	public EmployeePage<EmployeeSnapshot> deepPageByLastName() {
+		return employeeService.listEmployees(query(EmployeeSortField.LAST_NAME, deepLastNameCursor, PAGE_SIZE, false));
+	}
+
+	private static EmployeeQuery query(EmployeeSortField sort, String cursor, int limit, boolean descending) {
+		return new EmployeeQuery(sort, descending, cursor, limit, null, null, null, null, null);
+	}
+}
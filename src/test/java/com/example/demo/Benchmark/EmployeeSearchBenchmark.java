@@ -0,0 +1,79 @@
+package com.example.demo.Benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.EmployeeSearchResult;
+import com.example.demo.Service.EmployeeSearchIndex;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+// In-memory trigram/prefix index versus a LIKE '%q%' query over the same four columns
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSearchBenchmark {
+
+	private static final int ROWS = 100_000;
+	private static final int PAGE_SIZE = 20;
+
+	// Exact last name, a substring of first names, and a department prefix (1 in 6 rows)
+	@Param({ "last4242", "rst999", "engin" })
+	String query;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeSearchIndex searchIndex;
+	private EntityManager entityManager;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContext.start();
+		BenchmarkContext.seedEmployees(context, ROWS);
+		searchIndex = context.getBean(EmployeeSearchIndex.class);
+		searchIndex.rebuild();
+		entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		entityManager.close();
+		context.close();
+	}
+
+	@Benchmark
+	public EmployeeSearchResult index() {
+		return searchIndex.search(query, 0, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public List<Employee> likeQuery() {
+		List<Employee> page = entityManager.createQuery("select e from Employee e where lower(e.firstName) like :q "
+				+ "or lower(e.lastName) like :q or lower(e.email) like :q or lower(e.department) like :q "
+				+ "order by e.lastName, e.firstName, e.id", Employee.class)
+				.setParameter("q", "%" + query + "%")
+				.setMaxResults(PAGE_SIZE)
+				.getResultList();
+		entityManager.clear();
+		return page;
+	}
+}
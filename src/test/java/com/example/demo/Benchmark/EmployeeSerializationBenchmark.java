@@ -0,0 +1,79 @@
+package com.example.demo.Benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.demo.Model.AppUser;
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.EmployeeSnapshot;
+import com.example.demo.Model.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+// Jackson cost of the employee list response body, using the same builder Spring Boot configures
+// its HTTP message converter with. "entity" is the old body (Employee with its nested AppUser),
+// "projection" the EmployeeSnapshot rows the listing returns now; payload sizes are printed at setup.
+// "blackbird" adds the module JacksonConfig registers (generated accessors instead of reflection).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+
+	@Param({ "1", "50", "500", "5000", "10000" })
+	int size;
+
+	@Param({ "entity", "projection" })
+	String view;
+
+	@Param({ "default", "blackbird" })
+	String mapper;
+
+	private ObjectMapper objectMapper;
+	private List<?> rows;
+
+	@Setup
+	public void setUp() throws Exception {
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+		if (mapper.equals("blackbird")) {
+			builder.modulesToInstall(new BlackbirdModule());
+		}
+		objectMapper = builder.build();
+		List<Employee> employees = new ArrayList<>(size);
+		for (int i = 1; i <= size; i++) {
+			AppUser appUser = new AppUser("bench" + i + "@example.com",
+					"$2a$10$abcdefghijklmnopqrstuuJ0Xb8xq0zFq1jVb6Bq5xVq8y9n0rN2W");
+			appUser.setId((long) i);
+			appUser.setRole(Role.EMPLOYEE);
+			Employee employee = new Employee("First" + i, "Last" + i, "bench" + i + "@example.com", 30000.0 + i,
+					"Engineering", LocalDate.of(2020, 1, 1).plusDays(i % 1000));
+			employee.setId((long) i);
+			employee.setAppUser(appUser);
+			employees.add(employee);
+		}
+		rows = view.equals("entity") ? employees : employees.stream().map(EmployeeSnapshot::of).toList();
+		System.out.printf("%n%s x %d: %d bytes%n", view, size, objectMapper.writeValueAsBytes(rows).length);
+	}
+
+	@Benchmark
+	public byte[] serialize() throws Exception {
+		return objectMapper.writeValueAsBytes(rows);
+	}
+}
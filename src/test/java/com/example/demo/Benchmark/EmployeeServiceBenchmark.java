@@ -0,0 +1,83 @@
+package com.example.demo.Benchmark;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.demo.Model.Employee;
+import com.example.demo.Service.EmployeeService;
+
+// EmployeeService CRUD against the in-memory H2 the app runs on, with and without the
+// second-level cache. Mutations include the change-event listeners (search index, salary stats)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+	private static final int ROWS = 10_000;
+
+	@Param({ "true", "false" })
+	boolean secondLevelCache;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeService employeeService;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkContext.start(
+				"spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+				"spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache);
+		BenchmarkContext.seedEmployees(context, ROWS);
+		employeeService = context.getBean(EmployeeService.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Optional<Employee> getById() {
+		return employeeService.getEmployeeById(randomId());
+	}
+
+	@Benchmark
+	public Employee update() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long id = randomId();
+		Employee changes = new Employee("First" + id, "Last" + random.nextInt(ROWS), "bench" + id + "@example.com",
+				30000.0 + random.nextInt(90000), "Engineering", LocalDate.of(2015, 1, 1));
+		return employeeService.updateEmployee(id, changes);
+	}
+
+	@Benchmark
+	public Long createThenDelete() {
+		Employee created = employeeService.createEmployee(new Employee("Transient", "Bench",
+				"transient@example.com", 50000.0, "Support", LocalDate.of(2020, 1, 1)));
+		employeeService.deleteEmployee(created.getId());
+		return created.getId();
+	}
+
+	private static long randomId() {
+		return ThreadLocalRandom.current().nextLong(1, ROWS + 1);
+	}
+}
@@ -0,0 +1,104 @@
+package com.example.demo.Benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Salary edits over HTTP from concurrent clients: PUT sends and rewrites the whole employee (what the
+// admin page used to do), PATCH a one-field merge patch. Edits go to random rows of the seeded table;
+// responses other than 200 (412s from two clients editing the same row) are printed per iteration.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class EmployeeUpdateBenchmark {
+
+	private static final int ROWS = 10_000;
+	private static final LocalDate SEED_START = LocalDate.of(2010, 1, 1);
+
+	@Param({ "put", "patch" })
+	String method;
+
+	private ConfigurableApplicationContext context;
+	private HttpClient httpClient;
+	private URI baseUri;
+	private String adminToken;
+	private final LongAdder failures = new LongAdder();
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		context = BenchmarkContext.start();
+		BenchmarkContext.seedEmployees(context, ROWS);
+		baseUri = BenchmarkContext.baseUri(context);
+		httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(30)).build();
+		adminToken = BenchmarkContext.adminToken(httpClient, baseUri);
+	}
+
+	@TearDown(Level.Iteration)
+	public void reportFailures() {
+		long failed = failures.sumThenReset();
+		if (failed > 0) {
+			System.out.println("non-200 responses: " + failed);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int editSalary() throws Exception {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int id = 1 + random.nextInt(ROWS);
+		double salary = 30000 + random.nextInt(90000);
+		HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve("/api/employees/" + id))
+				.header("Authorization", "Bearer " + adminToken).timeout(Duration.ofSeconds(30));
+		if (method.equals("put")) {
+			request.header("Content-Type", "application/json")
+					.PUT(HttpRequest.BodyPublishers.ofString(fullBody(id, salary)));
+		} else {
+			request.header("Content-Type", "application/merge-patch+json")
+					.method("PATCH", HttpRequest.BodyPublishers.ofString("{\"salary\":" + salary + "}"));
+		}
+		int status = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+		if (status != 200) {
+			failures.increment();
+		}
+		return status;
+	}
+
+	// The seeded row as BenchmarkContext.seedEmployees wrote it, with a new salary
+	private static String fullBody(int id, double salary) {
+		return "{\"firstName\":\"First" + id + "\",\"lastName\":\"Last" + (id * 7919 % ROWS)
+				+ "\",\"email\":\"bench" + id + "@example.com\",\"salary\":" + salary + ",\"department\":\""
+				+ BenchmarkContext.DEPARTMENTS[id % BenchmarkContext.DEPARTMENTS.length] + "\",\"joiningDate\":\""
+				+ SEED_START.plusDays(id % 5000) + "\"}";
+	}
+}
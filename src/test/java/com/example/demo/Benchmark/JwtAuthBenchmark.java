@@ -0,0 +1,89 @@
+package com.example.demo.Benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.Model.Role;
+import com.example.demo.Security.AuthMetrics;
+import com.example.demo.Security.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// JwtUtil entry points, plus the token handling cost of one authenticated request
+// (GET /api/employees/{id}) before and after the single-parse + verified-claims cache change
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+	private JwtUtil cachingJwtUtil;
+	private JwtUtil nonCachingJwtUtil;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		AuthMetrics metrics = new AuthMetrics(new SimpleMeterRegistry());
+		cachingJwtUtil = new JwtUtil(BenchmarkContext.JWT_SECRET, 10_000, metrics);
+		nonCachingJwtUtil = new JwtUtil(BenchmarkContext.JWT_SECRET, 0, metrics);
+		token = cachingJwtUtil.generateToken("bench@example.com", 1L, Role.EMPLOYEE, 1L, 0);
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return cachingJwtUtil.generateToken("bench@example.com", 1L, Role.EMPLOYEE, 1L, 0);
+	}
+
+	@Benchmark
+	public boolean validateToken() {
+		return cachingJwtUtil.validateToken(token);
+	}
+
+	@Benchmark
+	public String extractUsername() {
+		return cachingJwtUtil.extractUsername(token);
+	}
+
+	// Previous behaviour: validateToken + extractUsername in the filter, extractUsername again in
+	// the controller, each rebuilding the key and parser
+	@Benchmark
+	public String legacyTriplePerRequest() {
+		legacyParse(token);
+		legacyParse(token);
+		return legacyParse(token).getSubject();
+	}
+
+	// One verification with the pre-built parser (first request carrying a token)
+	@Benchmark
+	public String singleParseUncached() {
+		return nonCachingJwtUtil.parseClaims(token).getSubject();
+	}
+
+	// Later requests with the same token: digest + map lookup
+	@Benchmark
+	public String singleParseCached() {
+		return cachingJwtUtil.parseClaims(token).getSubject();
+	}
+
+	private static Claims legacyParse(String jwt) {
+		SecretKey key = Keys.hmacShaKeyFor(BenchmarkContext.JWT_SECRET.getBytes());
+		return Jwts.parser().verifyWith(key).build().parseSignedClaims(jwt).getPayload();
+	}
+}
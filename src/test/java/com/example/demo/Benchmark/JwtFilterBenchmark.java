@@ -0,0 +1,89 @@
+package com.example.demo.Benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.demo.Model.Role;
+import com.example.demo.Security.AuthMetrics;
+import com.example.demo.Security.JwtFilter;
+import com.example.demo.Security.JwtUtil;
+import com.example.demo.Security.TokenVersionRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+// The whole JwtFilter pass for one request, from header to populated SecurityContext (or error body),
+// with a no-op downstream chain
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+	private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+	};
+
+	private JwtFilter cachingFilter;
+	private JwtFilter nonCachingFilter;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		AuthMetrics metrics = new AuthMetrics(new SimpleMeterRegistry());
+		TokenVersionRegistry tokenVersions = new TokenVersionRegistry();
+		ObjectMapper objectMapper = new ObjectMapper();
+		JwtUtil cachingJwtUtil = new JwtUtil(BenchmarkContext.JWT_SECRET, 10_000, metrics);
+		cachingFilter = new JwtFilter(cachingJwtUtil, tokenVersions, metrics, objectMapper);
+		nonCachingFilter = new JwtFilter(new JwtUtil(BenchmarkContext.JWT_SECRET, 0, metrics), tokenVersions, metrics,
+				objectMapper);
+		token = cachingJwtUtil.generateToken("bench@example.com", 1L, Role.EMPLOYEE, 1L, tokenVersions.current(1L));
+	}
+
+	// Repeat request with a token already in the verified-claims cache
+	@Benchmark
+	public int authenticated() throws Exception {
+		return filter(cachingFilter, "Bearer " + token);
+	}
+
+	// First request with a token: full signature verification
+	@Benchmark
+	public int authenticatedUncached() throws Exception {
+		return filter(nonCachingFilter, "Bearer " + token);
+	}
+
+	// Rejected request: builds and writes the JSON error body
+	@Benchmark
+	public int missingHeader() throws Exception {
+		return filter(cachingFilter, null);
+	}
+
+	private static int filter(JwtFilter filter, String authorization) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+		if (authorization != null) {
+			request.addHeader("Authorization", authorization);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		try {
+			filter.doFilter(request, response, NO_OP_CHAIN);
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+		return response.getStatus();
+	}
+}
@@ -0,0 +1,148 @@
+package com.example.demo.Benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.demo.Security.LoginRateLimitFilter;
+import com.example.demo.Security.LoginRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+// Cost the login rate limiter adds per request, with buckets spread over 1k addresses and 16k usernames
+// and limits high enough that every request is admitted (the path legitimate logins take).
+// limiter = bucket checks + in-flight permit; filter - baseline = the whole LoginRateLimitFilter,
+// including buffering the body and reading the username.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class LoginRateLimiterBenchmark {
+
+	private static final int ADDRESSES = 1024;
+	private static final int USERNAMES = 16384;
+	private static final FilterChain NO_OP = (request, response) -> {
+	};
+
+	private final String[] addresses = new String[ADDRESSES];
+	private final String[] usernames = new String[USERNAMES];
+	private final byte[][] bodies = new byte[USERNAMES][];
+	private LoginRateLimiter limiter;
+	private LoginRateLimitFilter filter;
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		int next;
+	}
+
+	@Setup
+	public void setUp() {
+		for (int i = 0; i < ADDRESSES; i++) {
+			addresses[i] = "10.0." + (i >> 8) + "." + (i & 255);
+		}
+		for (int i = 0; i < USERNAMES; i++) {
+			usernames[i] = "user" + i + "@example.com";
+			bodies[i] = ("{\"username\":\"" + usernames[i] + "\",\"password\":\"correct horse battery staple\"}")
+					.getBytes(StandardCharsets.UTF_8);
+		}
+		limiter = new LoginRateLimiter(Integer.MAX_VALUE / 2, 1e9, Integer.MAX_VALUE / 2, 1e9, 100_000, 1_000,
+				new SimpleMeterRegistry());
+		filter = new LoginRateLimitFilter(limiter, new ObjectMapper());
+	}
+
+	@Benchmark
+	public long limiter(Cursor cursor) {
+		int i = cursor.next++;
+		long wait = limiter.tryAcquire(addresses[i & (ADDRESSES - 1)], usernames[i & (USERNAMES - 1)]);
+		if (wait == LoginRateLimiter.ADMITTED) {
+			limiter.release();
+		}
+		return wait;
+	}
+
+	@Benchmark
+	public int filter(Cursor cursor) throws Exception {
+		int i = cursor.next++;
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request(i), response, NO_OP);
+		return response.getStatus();
+	}
+
+	@Benchmark
+	public int baseline(Cursor cursor) throws Exception {
+		int i = cursor.next++;
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		NO_OP.doFilter(request(i), response);
+		return response.getStatus();
+	}
+
+	private MockHttpServletRequest request(int i) {
+		byte[] body = bodies[i & (USERNAMES - 1)];
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login") {
+			// The mock's own stream reads byte by byte; Tomcat's copies in bulk, as this one does
+			@Override
+			public ServletInputStream getInputStream() {
+				return new BulkInputStream(body);
+			}
+		};
+		request.setRemoteAddr(addresses[i & (ADDRESSES - 1)]);
+		request.setContentType("application/json");
+		request.setContent(body);
+		return request;
+	}
+
+	private static final class BulkInputStream extends ServletInputStream {
+
+		private final ByteArrayInputStream in;
+
+		BulkInputStream(byte[] body) {
+			this.in = new ByteArrayInputStream(body);
+		}
+
+		@Override
+		public int read() {
+			return in.read();
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			return in.read(b, off, len);
+		}
+
+		@Override
+		public boolean isFinished() {
+			return in.available() == 0;
+		}
+
+		@Override
+		public boolean isReady() {
+			return true;
+		}
+
+		@Override
+		public void setReadListener(ReadListener readListener) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
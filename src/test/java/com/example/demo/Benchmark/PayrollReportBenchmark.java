@@ -0,0 +1,83 @@
+package com.example.demo.Benchmark;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.demo.Model.EmployeeSnapshot;
+import com.example.demo.Model.PayrollQuery;
+import com.example.demo.Model.PayrollQuery.Dimension;
+import com.example.demo.Model.PayrollReport;
+import com.example.demo.Service.PayrollSnapshot;
+
+// Department x tenure cross-tab with a salary filter over the same synthetic rows, once on the columnar
+// PayrollSnapshot and once as a stream over materialized EmployeeSnapshot objects (boxed salary,
+// LocalDate, groupingBy), which is what a report written against the repository ends up doing in memory.
+// Run with -prof gc to compare allocation per operation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class PayrollReportBenchmark {
+
+	private static final LocalDate AS_OF = LocalDate.of(2025, 1, 1);
+	private static final double MIN_SALARY = 50_000;
+
+	@Param({ "1000000", "5000000" })
+	int rows;
+
+	private PayrollSnapshot snapshot;
+	private List<EmployeeSnapshot> objects;
+	private PayrollQuery query;
+
+	@Setup
+	public void setUp() {
+		PayrollSnapshot.Builder builder = new PayrollSnapshot.Builder();
+		objects = new ArrayList<>(rows);
+		LocalDate start = LocalDate.of(2000, 1, 1);
+		for (int i = 0; i < rows; i++) {
+			double salary = 30_000.0 + (i * 37L % 90_000);
+			String department = BenchmarkContext.DEPARTMENTS[i % BenchmarkContext.DEPARTMENTS.length];
+			LocalDate joined = start.plusDays(i % 9000);
+			builder.add(salary, department, joined);
+			objects.add(new EmployeeSnapshot((long) i, "First" + i, "Last" + i, "bench" + i + "@example.com", salary,
+					department, joined));
+		}
+		snapshot = builder.build(Instant.now());
+		query = new PayrollQuery(null, MIN_SALARY, null, null, null,
+				EnumSet.of(Dimension.DEPARTMENT, Dimension.TENURE), 10_000, AS_OF);
+	}
+
+	@Benchmark
+	public PayrollReport columnar() {
+		return snapshot.report(query);
+	}
+
+	@Benchmark
+	public Map<String, Map<Integer, Double>> objects() {
+		return objects.parallelStream().filter(e -> e.salary() != null && e.salary() >= MIN_SALARY)
+				.collect(Collectors.groupingBy(EmployeeSnapshot::department,
+						Collectors.groupingBy(e -> Period.between(e.joiningDate(), AS_OF).getYears(),
+								Collectors.averagingDouble(EmployeeSnapshot::salary))));
+	}
+}
@@ -0,0 +1,118 @@
+package com.example.demo.Benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Tomcat on platform threads (default 200 workers) versus virtual threads, with 1k-10k concurrent clients
+// each issuing a few JDBC-backed listing requests. Score is the time to drain one burst; both modes get the
+// same connection limits so only the request threading differs. Failed requests are printed per iteration.
+// Client and server sockets live in this one JVM, so 10k clients need ulimit -n well above 20000.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ThreadModelBenchmark {
+
+	private static final int ROWS = 10_000;
+	private static final int REQUESTS_PER_CLIENT = 2;
+
+	@Param({ "platform", "virtual" })
+	String threads;
+
+	@Param({ "1000", "5000", "10000" })
+	int clients;
+
+	private ConfigurableApplicationContext context;
+	private HttpClient httpClient;
+	private URI baseUri;
+	private String adminToken;
+	private final LongAdder failures = new LongAdder();
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		context = BenchmarkContext.start(
+				"spring.threads.virtual.enabled=" + threads.equals("virtual"),
+				"server.tomcat.max-connections=20000",
+				"server.tomcat.accept-count=10000");
+		BenchmarkContext.seedEmployees(context, ROWS);
+		baseUri = BenchmarkContext.baseUri(context);
+		httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(30)).build();
+		adminToken = BenchmarkContext.adminToken(httpClient, baseUri);
+	}
+
+	@TearDown(Level.Iteration)
+	public void reportFailures() {
+		long failed = failures.sumThenReset();
+		if (failed > 0) {
+			System.out.println("failed requests: " + failed + " of " + clients * REQUESTS_PER_CLIENT);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public long burst() throws Exception {
+		List<Future<?>> running = new ArrayList<>(clients);
+		// The load side always uses virtual threads so it never limits the server under test
+		try (ExecutorService load = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < clients; i++) {
+				running.add(load.submit(() -> {
+					for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+						listPage();
+					}
+				}));
+			}
+			for (Future<?> client : running) {
+				client.get();
+			}
+		}
+		return failures.sum();
+	}
+
+	private void listPage() {
+		String department = BenchmarkContext.DEPARTMENTS[ThreadLocalRandom.current().nextInt(
+				BenchmarkContext.DEPARTMENTS.length)];
+		HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/employees?limit=20&department=" + department))
+				.header("Authorization", "Bearer " + adminToken).timeout(Duration.ofSeconds(60)).GET().build();
+		try {
+			HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+			if (response.statusCode() != 200) {
+				failures.increment();
+			}
+		} catch (Exception e) {
+			failures.increment();
+		}
+	}
+}
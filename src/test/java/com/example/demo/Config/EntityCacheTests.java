@@ -0,0 +1,96 @@
+package com.example.demo.Config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.demo.Model.AppUser;
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.Role;
+import com.example.demo.Repository.UserRepository;
+import com.example.demo.Service.EmployeeService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class EntityCacheTests {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void repeatedLookupsAreServedWithoutQueries() {
+		AppUser user = saveUser("cached@example.com");
+		Employee employee = saveEmployee("Cached", user);
+
+		employeeService.getEmployeeById(employee.getId());
+		employeeService.findByAppUserId(user.getId());
+		userRepository.findByUsername("cached@example.com");
+
+		statistics.clear();
+		assertThat(employeeService.getEmployeeById(employee.getId())).isPresent();
+		assertThat(employeeService.findByAppUserId(user.getId())).isPresent();
+		assertThat(userRepository.findByUsername("cached@example.com")).isPresent();
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void updatesAndDeletesAreVisibleToCachedLookups() {
+		Employee employee = saveEmployee("Before", null);
+		employeeService.getEmployeeById(employee.getId());
+
+		Employee changed = new Employee("After", "Cache", "after@example.com", 2000.0, "Finance", LocalDate.now());
+		employeeService.updateEmployee(employee.getId(), changed);
+		assertThat(employeeService.getEmployeeById(employee.getId())).get()
+				.extracting(Employee::getFirstName).isEqualTo("After");
+
+		employeeService.deleteEmployee(employee.getId());
+		assertThat(employeeService.getEmployeeById(employee.getId())).isEmpty();
+	}
+
+	@Test
+	void credentialChangesInvalidateUsernameLookups() {
+		AppUser user = saveUser("old-name@example.com");
+		assertThat(userRepository.findByUsername("old-name@example.com")).isPresent();
+
+		user.setUsername("new-name@example.com");
+		userRepository.save(user);
+
+		assertThat(userRepository.findByUsername("old-name@example.com")).isEmpty();
+		assertThat(userRepository.findByUsername("new-name@example.com")).get()
+				.extracting(AppUser::getId).isEqualTo(user.getId());
+	}
+
+	private AppUser saveUser(String username) {
+		AppUser user = new AppUser(username, "not-a-real-hash");
+		user.setRole(Role.EMPLOYEE);
+		return userRepository.save(user);
+	}
+
+	private Employee saveEmployee(String firstName, AppUser user) {
+		Employee employee = new Employee(firstName, "Cache", firstName.toLowerCase() + "@example.com", 1000.0,
+				"Engineering", LocalDate.now());
+		employee.setAppUser(user);
+		return employeeService.createEmployee(employee);
+	}
+}
@@ -0,0 +1,78 @@
+package com.example.demo.Config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.EmployeeDetail;
+import com.example.demo.Service.EmployeeService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Two in-memory H2 databases kept in step by the stand-in, so the replica trails the primary by up to 200 ms
+@SpringBootTest(properties = {
+		"datasource.replica.jdbc-url=jdbc:h2:mem:replica-routing-tests;DB_CLOSE_DELAY=-1",
+		"datasource.replica.username=sa",
+		"datasource.routing.h2-stand-in.enabled=true",
+		"datasource.routing.h2-stand-in.interval-ms=200",
+		"datasource.routing.heartbeat-interval-ms=50" })
+class ReplicaRoutingTests {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void readsOwnWritesFromThePrimaryAndOthersFromTheReplicaOnceItHasCaughtUp() throws Exception {
+		for (int attempt = 0; attempt < 200 && Double.isNaN(lag()); attempt++) {
+			Thread.sleep(50);
+		}
+		Employee employee = employeeService.createEmployee(new Employee("Replicated", "Reader",
+				"replicated-" + System.nanoTime() + "@example.com", 1000.0, "Replication", LocalDate.now()));
+
+		// The commit pins this thread to the primary until the replica has it
+		double pinned = reads("primary", "read-your-writes");
+		assertThat(employeeService.getEmployeeDetail(employee.getId())).isPresent();
+		assertThat(reads("primary", "read-your-writes")).isGreaterThan(pinned);
+
+		// A thread with no writes of its own reads from the replica once it is within the lag limit
+		double routed = reads("replica", "routed");
+		Optional<EmployeeDetail> replicated = Optional.empty();
+		for (int attempt = 0; attempt < 200 && replicated.isEmpty(); attempt++) {
+			Thread.sleep(50);
+			replicated = CompletableFuture.supplyAsync(() -> employeeService.getEmployeeDetail(employee.getId()))
+					.get();
+		}
+		assertThat(replicated).map(EmployeeDetail::firstName).contains("Replicated");
+		assertThat(reads("replica", "routed")).isGreaterThan(routed);
+		assertThat(lag()).isLessThan(5.0);
+	}
+
+	@Test
+	void keepsUnlabelledReadsOnThePrimary() {
+		double before = meterRegistry.get("datasource.reads").counters().stream().mapToDouble(c -> c.count()).sum();
+
+		employeeService.getEmployeeById(-1L);
+		employeeService.existsByEmail("nobody@example.com");
+
+		assertThat(meterRegistry.get("datasource.reads").counters().stream().mapToDouble(c -> c.count()).sum())
+				.isEqualTo(before);
+	}
+
+	private double lag() {
+		return meterRegistry.get("datasource.replica.lag").gauge().value();
+	}
+
+	private double reads(String target, String reason) {
+		return meterRegistry.get("datasource.reads").tag("target", target).tag("reason", reason).counter().count();
+	}
+}
@@ -0,0 +1,27 @@
+package com.example.demo.Config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.Cache;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Per-endpoint query budgets for MockMvc tests; needs sql.statements.expose-header=true
+public final class SqlStatements {
+
+	private SqlStatements() {
+	}
+
+	public static ResultMatcher count(int expected) {
+		return result -> assertThat(result.getResponse().getHeader(SqlStatementBudgetFilter.HEADER))
+				.as("SQL statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+				.isEqualTo(String.valueOf(expected));
+	}
+
+	// Counts are only stable against a cold second-level cache
+	public static void evictCaches(EntityManagerFactory entityManagerFactory) {
+		Cache cache = entityManagerFactory.unwrap(org.hibernate.SessionFactory.class).getCache();
+		cache.evictAllRegions();
+	}
+}
@@ -0,0 +1,90 @@
+package com.example.demo.Controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.Role;
+import com.example.demo.Security.JwtUtil;
+import com.example.demo.Security.TokenVersionRegistry;
+import com.example.demo.Service.EmployeeService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeChangeFeedTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private TokenVersionRegistry tokenVersions;
+
+	@Test
+	void streamsChangesAndReplaysFromLastEventId() throws Exception {
+		MockHttpServletResponse live = subscribe(changes());
+
+		Employee employee = employeeService.createEmployee(new Employee("Streamed", "Employee",
+				"feed-" + System.nanoTime() + "@example.com", 1000.0, "Sales", LocalDate.of(2024, 1, 1)));
+		employee.setSalary(2000.0);
+		employeeService.updateEmployee(employee.getId(), employee);
+		employeeService.deleteEmployee(employee.getId());
+
+		String stream = await(live, "event:deleted");
+		String createdId = eventId(stream, "created");
+		assertThat(stream).contains("\"salary\":2000.0");
+
+		// Resuming after the create replays only what came later
+		String resumed = await(subscribe(changes().header("Last-Event-ID", createdId)), "event:deleted");
+		assertThat(resumed).doesNotContain("event:created").contains("event:updated");
+	}
+
+	@Test
+	void unknownPositionsAskForAReload() throws Exception {
+		String stream = await(subscribe(changes().header("Last-Event-ID", "999999999")), "event:reset");
+		assertThat(stream).doesNotContain("event:created");
+	}
+
+	private MockHttpServletRequestBuilder changes() {
+		String token = jwtUtil.generateToken("feed-admin@example.com", 9393L, Role.ADMIN, null,
+				tokenVersions.current(9393L));
+		return get("/api/employees/changes").header("Authorization", "Bearer " + token);
+	}
+
+	private MockHttpServletResponse subscribe(MockHttpServletRequestBuilder request) throws Exception {
+		return mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn().getResponse();
+	}
+
+	// Events are written from the feed's dispatcher thread
+	private static String await(MockHttpServletResponse response, String expected) throws Exception {
+		for (int i = 0; i < 100 && !response.getContentAsString().contains(expected); i++) {
+			Thread.sleep(50);
+		}
+		assertThat(response.getContentAsString()).contains(expected);
+		return response.getContentAsString();
+	}
+
+	private static String eventId(String stream, String type) {
+		Matcher matcher = Pattern.compile("id:(\\d+)\nevent:" + type + "\n").matcher(stream);
+		assertThat(matcher.find()).isTrue();
+		return matcher.group(1);
+	}
+}
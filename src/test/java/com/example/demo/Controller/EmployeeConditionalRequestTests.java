@@ -0,0 +1,126 @@
+package com.example.demo.Controller;
+
+import static com.example.demo.Config.SqlStatements.count;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.example.demo.Model.AppUser;
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.Role;
+import com.example.demo.Repository.UserRepository;
+import com.example.demo.Security.JwtUtil;
+import com.example.demo.Security.TokenVersionRegistry;
+import com.example.demo.Service.EmployeeService;
+
+@SpringBootTest(properties = "sql.statements.expose-header=true")
+@AutoConfigureMockMvc
+class EmployeeConditionalRequestTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private TokenVersionRegistry tokenVersions;
+
+	private AppUser user;
+	private Employee employee;
+
+	@BeforeEach
+	void setUp() {
+		String username = "etag-" + System.nanoTime() + "@example.com";
+		user = new AppUser(username, "not-a-real-hash");
+		user.setRole(Role.EMPLOYEE);
+		user = userRepository.save(user);
+		employee = new Employee("Tagged", "Employee", username, 1000.0, "Engineering", LocalDate.now());
+		employee.setAppUser(user);
+		employee = employeeService.createEmployee(employee);
+	}
+
+	@Test
+	void unchangedProfileIsNotModified() throws Exception {
+		String etag = mockMvc.perform(get("/api/employees/" + employee.getId()).header("Authorization", employeeToken()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/employees/" + employee.getId()).header("Authorization", employeeToken())
+				.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	void unchangedListingIsNotModifiedWithoutQueries() throws Exception {
+		String etag = mockMvc.perform(get("/api/employees?limit=5").header("Authorization", adminToken()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/employees?limit=5").header("Authorization", adminToken())
+				.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(count(0));
+
+		employeeService.updateEmployee(employee.getId(), changed("Renamed"));
+		mockMvc.perform(get("/api/employees?limit=5").header("Authorization", adminToken())
+				.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void updateHonoursIfMatch() throws Exception {
+		String etag = "\"" + employee.getVersion() + "\"";
+
+		mockMvc.perform(updateRequest("First").header(HttpHeaders.IF_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + (employee.getVersion() + 1) + "\""));
+
+		// The same tag is now stale
+		mockMvc.perform(updateRequest("Second").header(HttpHeaders.IF_MATCH, etag))
+				.andExpect(status().isPreconditionFailed());
+	}
+
+	private MockHttpServletRequestBuilder updateRequest(String firstName) {
+		return put("/api/employees/" + employee.getId()).header("Authorization", adminToken())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"firstName\":\"" + firstName + "\",\"lastName\":\"Employee\",\"email\":\""
+						+ user.getUsername() + "\",\"salary\":1000.0,\"department\":\"Engineering\","
+						+ "\"joiningDate\":\"2024-01-01\"}");
+	}
+
+	private Employee changed(String firstName) {
+		return new Employee(firstName, "Employee", user.getUsername(), 1000.0, "Engineering", LocalDate.now());
+	}
+
+	private String employeeToken() {
+		return "Bearer " + jwtUtil.generateToken(user.getUsername(), user.getId(), Role.EMPLOYEE, employee.getId(),
+				tokenVersions.current(user.getId()));
+	}
+
+	private String adminToken() {
+		return "Bearer " + jwtUtil.generateToken("etag-admin@example.com", 9191L, Role.ADMIN, null,
+				tokenVersions.current(9191L));
+	}
+}
@@ -0,0 +1,108 @@
+package com.example.demo.Controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.demo.Model.AppUser;
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.EmployeeFileFormat;
+import com.example.demo.Model.Role;
+import com.example.demo.Repository.UserRepository;
+import com.example.demo.Security.JwtUtil;
+import com.example.demo.Security.TokenVersionRegistry;
+import com.example.demo.Service.EmployeeService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeImportTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private TokenVersionRegistry tokenVersions;
+
+	@Test
+	void reportsRowErrorsWithFileLineNumbersAcrossChunks() throws Exception {
+		String prefix = "import-" + System.nanoTime() + "-";
+		// More rows than one chunk, with a duplicate that only shows up in the second one
+		String rows = IntStream.range(0, 1200)
+				.mapToObj(i -> ",First,Last," + prefix + i + "@example.com,1000,Import,2024-01-15")
+				.collect(Collectors.joining("\n"));
+		String csv = EmployeeFileFormat.CSV_HEADER + "\n" + rows + "\n"
+				+ ",First,Last," + prefix + "3@example.com,1000,Import,2024-01-15\n"
+				+ ",,Last," + prefix + "x@example.com,1000,Import,2024-01-15\n";
+
+		mockMvc.perform(post("/api/employees/import").header("Authorization", "Bearer " + adminToken())
+				.contentType("text/csv").content(csv))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(1200))
+				.andExpect(jsonPath("$.failed").value(2))
+				.andExpect(jsonPath("$.errors[0].line").value(1202))
+				.andExpect(jsonPath("$.errors[0].errors.email").value("Email appears more than once in the file"))
+				.andExpect(jsonPath("$.errors[1].line").value(1203))
+				.andExpect(jsonPath("$.errors[1].errors.firstName").exists());
+	}
+
+	@Test
+	void importedAccountsHaveNoUsablePasswordUntilReset() throws Exception {
+		String prefix = "onboard-" + System.nanoTime() + "-";
+		String csv = EmployeeFileFormat.CSV_HEADER + "\n"
+				+ ",First,Last," + prefix + "a@example.com,1000,Import,2024-01-15\n"
+				+ ",First,Last," + prefix + "b@example.com,1000,Import,2024-01-15\n";
+		mockMvc.perform(post("/api/employees/import").header("Authorization", "Bearer " + adminToken())
+				.contentType("text/csv").content(csv))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(2));
+
+		AppUser imported = userRepository.findByUsername(prefix + "a@example.com").orElseThrow();
+		assertThat(imported.getPassword()).isEqualTo(AppUser.NO_PASSWORD);
+		assertThat(passwordEncoder.matches("123", imported.getPassword())).isFalse();
+
+		Employee employee = employeeService.findByAppUserId(imported.getId()).orElseThrow();
+		String body = mockMvc.perform(post("/api/employees/" + employee.getId() + "/reset-password")
+				.header("Authorization", "Bearer " + adminToken()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		String temporaryPassword = objectMapper.readValue(body, JsonNode.class).get("temporaryPassword").asText();
+
+		AppUser reset = userRepository.findByUsername(prefix + "a@example.com").orElseThrow();
+		assertThat(passwordEncoder.matches(temporaryPassword, reset.getPassword())).isTrue();
+		// The other imported account is untouched
+		assertThat(userRepository.findByUsername(prefix + "b@example.com")).get()
+				.extracting(AppUser::getPassword).isEqualTo(AppUser.NO_PASSWORD);
+	}
+
+	private String adminToken() {
+		return jwtUtil.generateToken("import-admin@example.com", 9393L, Role.ADMIN, null, tokenVersions.current(9393L));
+	}
+}
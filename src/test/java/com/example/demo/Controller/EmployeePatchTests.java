@@ -0,0 +1,107 @@
+package com.example.demo.Controller;
+
+import static com.example.demo.Config.SqlStatements.count;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.Role;
+import com.example.demo.Security.JwtUtil;
+import com.example.demo.Security.TokenVersionRegistry;
+import com.example.demo.Service.EmployeeService;
+
+@SpringBootTest(properties = "sql.statements.expose-header=true")
+@AutoConfigureMockMvc
+class EmployeePatchTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private TokenVersionRegistry tokenVersions;
+
+	private Employee employee;
+
+	@BeforeEach
+	void setUp() {
+		employee = employeeService.createEmployee(new Employee("Patched", "Employee",
+				"patch-" + System.nanoTime() + "@example.com", 1000.0, "Engineering", LocalDate.of(2024, 1, 1)));
+	}
+
+	@Test
+	void changesOnlySuppliedFieldsWithOneStatement() throws Exception {
+		// Warm the second-level cache so the patch needs no SELECT
+		employeeService.getEmployeeById(employee.getId());
+
+		mockMvc.perform(patch("{\"salary\": 1500.5, \"joiningDate\": null}"))
+				.andExpect(status().isOk())
+				.andExpect(count(1))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + (employee.getVersion() + 1) + "\""))
+				.andExpect(jsonPath("$.salary").value(1500.5))
+				.andExpect(jsonPath("$.joiningDate").doesNotExist())
+				.andExpect(jsonPath("$.firstName").value("Patched"))
+				.andExpect(jsonPath("$.department").value("Engineering"));
+
+		assertThat(employeeService.getEmployeeById(employee.getId())).get()
+				.extracting(Employee::getSalary, Employee::getJoiningDate, Employee::getLastName)
+				.containsExactly(1500.5, null, "Employee");
+	}
+
+	@Test
+	void validatesSuppliedFieldsOnly() throws Exception {
+		mockMvc.perform(patch("{\"firstName\": null, \"salary\": -1}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.firstName").exists())
+				.andExpect(jsonPath("$.salary").exists())
+				.andExpect(jsonPath("$.lastName").doesNotExist());
+	}
+
+	@Test
+	void rejectsFieldsThatCannotBePatched() throws Exception {
+		mockMvc.perform(patch("{\"id\": 1}")).andExpect(status().isBadRequest());
+		mockMvc.perform(patch("{\"salary\": \"lots\"}")).andExpect(status().isBadRequest());
+		mockMvc.perform(patch("[]")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void honoursIfMatch() throws Exception {
+		mockMvc.perform(patch("{\"department\": \"Finance\"}").header(HttpHeaders.IF_MATCH, "\"41\""))
+				.andExpect(status().isPreconditionFailed());
+		// Weak tags never match under If-Match, even for the current version
+		mockMvc.perform(patch("{\"department\": \"Finance\"}")
+				.header(HttpHeaders.IF_MATCH, "W/\"" + employee.getVersion() + "\""))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(patch("{\"department\": \"Finance\"}").header(HttpHeaders.IF_MATCH, "3"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(patch("{\"department\": \"Finance\"}")
+				.header(HttpHeaders.IF_MATCH, "\"41\", \"a,b\", \"" + employee.getVersion() + "\""))
+				.andExpect(status().isOk());
+	}
+
+	private MockHttpServletRequestBuilder patch(String document) {
+		String token = jwtUtil.generateToken("patch-admin@example.com", 9292L, Role.ADMIN, null,
+				tokenVersions.current(9292L));
+		return MockMvcRequestBuilders.patch("/api/employees/" + employee.getId()).header("Authorization", "Bearer " + token)
+				.contentType("application/merge-patch+json").content(document);
+	}
+}
@@ -0,0 +1,146 @@
+package com.example.demo.Controller;
+
+import static com.example.demo.Config.SqlStatements.count;
+import static com.example.demo.Config.SqlStatements.evictCaches;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.demo.Model.AppUser;
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.Role;
+import com.example.demo.Repository.UserRepository;
+import com.example.demo.Security.JwtUtil;
+import com.example.demo.Security.TokenVersionRegistry;
+import com.example.demo.Service.EmployeeService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Exact statement counts per endpoint, cold second-level cache; a new query on these paths fails here
+@SpringBootTest(properties = "sql.statements.expose-header=true")
+@AutoConfigureMockMvc
+class EndpointStatementCountTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private TokenVersionRegistry tokenVersions;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private AppUser user;
+	private Employee employee;
+
+	@BeforeEach
+	void setUp() {
+		String username = "counted-" + System.nanoTime() + "@example.com";
+		user = new AppUser(username, passwordEncoder.encode("secret"));
+		user.setRole(Role.EMPLOYEE);
+		user = userRepository.save(user);
+		employee = new Employee("Counted", "Queries", username, 1000.0, "Engineering", LocalDate.now());
+		employee.setAppUser(user);
+		employee = employeeService.createEmployee(employee);
+		evictCaches(entityManagerFactory);
+	}
+
+	@Test
+	void employeeLogin() throws Exception {
+		mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"" + user.getUsername() + "\",\"password\":\"secret\"}"))
+				.andExpect(status().isOk())
+				.andExpect(count(2));
+	}
+
+	@Test
+	void getOwnProfile() throws Exception {
+		mockMvc.perform(get("/api/employees/" + employee.getId()).header("Authorization", "Bearer " + employeeToken()))
+				.andExpect(status().isOk())
+				.andExpect(count(1))
+				.andExpect(jsonPath("$.userId").value(user.getId()))
+				.andExpect(jsonPath("$.appUser").doesNotExist());
+	}
+
+	@Test
+	void listPage() throws Exception {
+		mockMvc.perform(get("/api/employees?limit=5").header("Authorization", "Bearer " + adminToken()))
+				.andExpect(status().isOk())
+				.andExpect(count(1))
+				.andExpect(jsonPath("$.items[0].appUser").doesNotExist());
+	}
+
+	@Test
+	void repeatedReadsAreServedFromSerializedJson() throws Exception {
+		String path = "/api/employees/" + employee.getId();
+		mockMvc.perform(get(path).header("Authorization", "Bearer " + employeeToken()))
+				.andExpect(status().isOk())
+				.andExpect(count(1));
+		mockMvc.perform(get(path).header("Authorization", "Bearer " + employeeToken()))
+				.andExpect(status().isOk())
+				.andExpect(count(0));
+		mockMvc.perform(get("/api/employees?limit=5").header("Authorization", "Bearer " + adminToken()))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/employees?limit=5").header("Authorization", "Bearer " + adminToken()))
+				.andExpect(status().isOk())
+				.andExpect(count(0));
+
+		employee.setFirstName("Changed");
+		employeeService.updateEmployee(employee.getId(), employee);
+		mockMvc.perform(get(path).header("Authorization", "Bearer " + employeeToken()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.firstName").value("Changed"));
+	}
+
+	@Test
+	void updateEmployee() throws Exception {
+		mockMvc.perform(put("/api/employees/" + employee.getId()).header("Authorization", "Bearer " + adminToken())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"firstName\":\"Renamed\",\"lastName\":\"Queries\",\"email\":\"" + user.getUsername()
+						+ "\",\"salary\":1100.0,\"department\":\"Engineering\",\"joiningDate\":\"2024-01-01\"}"))
+				.andExpect(status().isOk())
+				.andExpect(count(2));
+	}
+
+	@Test
+	void rejectedRequestRunsNoQueries() throws Exception {
+		mockMvc.perform(get("/api/employees/" + employee.getId()))
+				.andExpect(status().isUnauthorized())
+				.andExpect(count(0));
+	}
+
+	private String employeeToken() {
+		return jwtUtil.generateToken(user.getUsername(), user.getId(), Role.EMPLOYEE, employee.getId(),
+				tokenVersions.current(user.getId()));
+	}
+
+	private String adminToken() {
+		return jwtUtil.generateToken("counter-admin@example.com", 9090L, Role.ADMIN, null,
+				tokenVersions.current(9090L));
+	}
+}
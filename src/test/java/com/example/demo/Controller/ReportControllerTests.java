@@ -0,0 +1,168 @@
+package com.example.demo.Controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.EmployeeFileFormat;
+import com.example.demo.Model.ReportJob;
+import com.example.demo.Model.ReportType;
+import com.example.demo.Model.Role;
+import com.example.demo.Security.JwtUtil;
+import com.example.demo.Security.TokenVersionRegistry;
+import com.example.demo.Service.EmployeeService;
+import com.example.demo.Service.ReportJobService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(properties = "reports.directory=target/report-tests")
+@AutoConfigureMockMvc
+class ReportControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private ReportJobService reportJobService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private TokenVersionRegistry tokenVersions;
+
+	@Test
+	void writesNewJoinersInTheBackgroundAndServesByteRanges() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			employeeService.createEmployee(new Employee("Joiner", "Number" + i, "joiner" + i + "@example.com",
+					1000.0 + i, "Research", LocalDate.of(1991, 3, 1 + i)));
+		}
+
+		String body = mockMvc.perform(authorized(MockMvcRequestBuilders.post("/api/reports"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"type\": \"new-joiners\", \"format\": \"csv\", "
+						+ "\"joinedFrom\": \"1991-03-01\", \"joinedTo\": \"1991-03-31\"}"))
+				.andExpect(status().isAccepted())
+				.andExpect(header().exists(HttpHeaders.LOCATION))
+				.andReturn().getResponse().getContentAsString();
+		long id = objectMapper.readTree(body).get("id").asLong();
+
+		JsonNode job = awaitFinished(id);
+		assertThat(job.get("status").asText()).isEqualTo("DONE");
+		assertThat(job.get("rowCount").asLong()).isEqualTo(3);
+
+		byte[] file = mockMvc.perform(authorized(MockMvcRequestBuilders.get("/api/reports/" + id + "/file")))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+				.andReturn().getResponse().getContentAsByteArray();
+		assertThat(file).hasSize(job.get("fileSize").asInt());
+		String csv = new String(new GZIPInputStream(new ByteArrayInputStream(file)).readAllBytes(),
+				StandardCharsets.UTF_8);
+		assertThat(csv.lines()).hasSize(4).element(1).asString().contains("joiner0@example.com");
+
+		byte[] tail = mockMvc.perform(authorized(MockMvcRequestBuilders.get("/api/reports/" + id + "/file"))
+				.header(HttpHeaders.RANGE, "bytes=10-"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE,
+						"bytes 10-" + (file.length - 1) + "/" + file.length))
+				.andReturn().getResponse().getContentAsByteArray();
+		assertThat(tail).isEqualTo(Arrays.copyOfRange(file, 10, file.length));
+
+		mockMvc.perform(authorized(MockMvcRequestBuilders.get("/api/reports/" + id + "/file"))
+				.header(HttpHeaders.RANGE, "bytes=" + file.length + "-"))
+				.andExpect(status().isRequestedRangeNotSatisfiable())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + file.length));
+	}
+
+	@Test
+	void writesDepartmentSalaryBreakdown() throws Exception {
+		employeeService.createEmployee(new Employee("Breakdown", "Employee", "breakdown@example.com", 5000.0,
+				"Breakdown", LocalDate.of(2020, 1, 1)));
+
+		ReportJob job = reportJobService.submit(ReportType.DEPARTMENT_SALARIES, EmployeeFileFormat.NDJSON, null, null,
+				null);
+
+		assertThat(awaitFinished(job.getId()).get("status").asText()).isEqualTo("DONE");
+		byte[] file = mockMvc.perform(authorized(MockMvcRequestBuilders.get("/api/reports/" + job.getId() + "/file")))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsByteArray();
+		String ndjson = new String(new GZIPInputStream(new ByteArrayInputStream(file)).readAllBytes(),
+				StandardCharsets.UTF_8);
+		assertThat(ndjson).contains("{\"department\":\"Breakdown\",\"headcount\":1,\"salaryCount\":1,"
+				+ "\"salarySum\":5000.0,\"meanSalary\":5000.0}");
+	}
+
+	@Test
+	void rejectsIncompleteRequests() throws Exception {
+		mockMvc.perform(authorized(MockMvcRequestBuilders.post("/api/reports")).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"type\": \"new-joiners\"}"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(authorized(MockMvcRequestBuilders.post("/api/reports")).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"type\": \"payslips\"}"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(authorized(MockMvcRequestBuilders.post("/api/reports/schedules"))
+				.contentType(MediaType.APPLICATION_JSON).content("{\"type\": \"roster\", \"cron\": \"every day\"}"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(authorized(MockMvcRequestBuilders.get("/api/reports/-1")))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void managesCronSchedules() throws Exception {
+		String body = mockMvc.perform(authorized(MockMvcRequestBuilders.post("/api/reports/schedules"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"type\": \"new-joiners\", \"format\": \"ndjson\", \"cron\": \"0 0 2 * * MON\", "
+						+ "\"lookbackDays\": 7}"))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.type").value("NEW_JOINERS"))
+				.andReturn().getResponse().getContentAsString();
+		long id = objectMapper.readTree(body).get("id").asLong();
+
+		mockMvc.perform(authorized(MockMvcRequestBuilders.delete("/api/reports/schedules/" + id)))
+				.andExpect(status().isOk());
+		mockMvc.perform(authorized(MockMvcRequestBuilders.delete("/api/reports/schedules/" + id)))
+				.andExpect(status().isNotFound());
+	}
+
+	private JsonNode awaitFinished(long id) throws Exception {
+		for (int attempt = 0; attempt < 200; attempt++) {
+			String body = mockMvc.perform(authorized(MockMvcRequestBuilders.get("/api/reports/" + id)))
+					.andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+			JsonNode job = objectMapper.readTree(body);
+			if (!job.get("status").asText().equals("QUEUED") && !job.get("status").asText().equals("RUNNING")) {
+				return job;
+			}
+			Thread.sleep(50);
+		}
+		throw new AssertionError("Report " + id + " did not finish");
+	}
+
+	private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+		String token = jwtUtil.generateToken("report-admin@example.com", 9393L, Role.ADMIN, null,
+				tokenVersions.current(9393L));
+		return request.header("Authorization", "Bearer " + token);
+	}
+}
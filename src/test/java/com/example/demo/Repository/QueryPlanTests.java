@@ -0,0 +1,199 @@
+package com.example.demo.Repository;
+
+import static com.example.demo.Config.SqlStatements.evictCaches;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.Config.SqlStatementCounter;
+import com.example.demo.Model.AppUser;
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.EmployeePage;
+import com.example.demo.Model.EmployeeQuery;
+import com.example.demo.Model.EmployeeSnapshot;
+import com.example.demo.Model.EmployeeSortField;
+import com.example.demo.Model.ReportJob;
+import com.example.demo.Model.Role;
+import com.example.demo.Service.EmployeeService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Runs every repository query and the listing's filter/sort combinations, then EXPLAINs the SQL
+// Hibernate sent: none of it may scan the whole table. A new query method must be added here.
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTests {
+
+	private static final int EMPLOYEES = 200;
+
+	// Read the whole table by design (exports, aggregates and their reconciliation)
+	private static final Set<String> FULL_READS = Set.of("sumSalariesByDepartment", "streamAllSnapshots",
+			"streamDepartmentSalaries", "streamPayrollColumns", "streamAllForExport");
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ReportJobRepository reportJobRepository;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private SqlStatementCounter statements;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Autowired
+	private TransactionTemplate transactions;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private final List<Long> ids = new ArrayList<>();
+	private final List<Long> userIds = new ArrayList<>();
+
+	@BeforeAll
+	void seed() {
+		for (int i = 0; i < EMPLOYEES; i++) {
+			AppUser user = new AppUser("plan" + i + "@example.com", "not-a-real-hash");
+			user.setRole(Role.EMPLOYEE);
+			user = userRepository.save(user);
+			Employee employee = new Employee("Plan", "Employee" + i, user.getUsername(), 1000.0 + i,
+					"Department" + (i % 10), LocalDate.of(2020, 1, 1).plusDays(i));
+			employee.setAppUser(user);
+			ids.add(employeeService.createEmployee(employee).getId());
+			userIds.add(user.getId());
+		}
+	}
+
+	@TestFactory
+	Stream<DynamicTest> repositoryQueriesUseIndexes() {
+		return queries().entrySet().stream()
+				.map(query -> DynamicTest.dynamicTest(query.getKey(), () -> assertIndexed(query.getValue())));
+	}
+
+	@TestFactory
+	Stream<DynamicTest> listingFiltersAndSortsUseIndexes() {
+		Map<String, EmployeeQuery> listings = new LinkedHashMap<>();
+		for (EmployeeSortField sort : EmployeeSortField.values()) {
+			for (boolean descending : new boolean[] { false, true }) {
+				listings.put(sort + (descending ? " desc" : " asc"), listing(sort, descending, null, null, null, null, null));
+			}
+		}
+		listings.put("department", listing(EmployeeSortField.ID, false, "Department3", null, null, null, null));
+		listings.put("department and salary range",
+				listing(EmployeeSortField.LAST_NAME, false, "Department3", 1050.0, 1150.0, null, null));
+		listings.put("salary range", listing(EmployeeSortField.ID, false, null, 1050.0, 1060.0, null, null));
+		listings.put("joining date range", listing(EmployeeSortField.JOINING_DATE, true, null, null, null,
+				LocalDate.of(2020, 2, 1), LocalDate.of(2020, 3, 1)));
+
+		return listings.entrySet().stream().map(listing -> DynamicTest.dynamicTest(listing.getKey(),
+				() -> assertIndexed(() -> {
+					// The first page and a page behind a cursor produce different predicates
+					EmployeePage<EmployeeSnapshot> first = employeeService.listEmployees(listing.getValue());
+					EmployeeQuery query = listing.getValue();
+					employeeService.listEmployees(new EmployeeQuery(query.sort(), query.descending(),
+							first.nextCursor(), query.limit(), query.department(), query.minSalary(),
+							query.maxSalary(), query.joinedFrom(), query.joinedTo()));
+				})));
+	}
+
+	@Test
+	void everyRepositoryQueryIsCovered() {
+		Set<String> covered = queries().keySet();
+		for (Class<?> repository : List.of(EmployeeRepository.class, UserRepository.class,
+				ReportJobRepository.class)) {
+			assertThat(Arrays.stream(repository.getDeclaredMethods()).map(Method::getName)
+					.filter(name -> !FULL_READS.contains(name)))
+					.as("queries of %s without a plan check", repository.getSimpleName())
+					.allMatch(covered::contains);
+		}
+	}
+
+	private Map<String, Runnable> queries() {
+		List<Long> someIds = ids.subList(0, 20);
+		List<Long> someUserIds = userIds.subList(0, 20);
+		Map<String, Runnable> queries = new LinkedHashMap<>();
+		queries.put("findById", () -> employeeRepository.findById(ids.get(0)));
+		queries.put("existsByEmail", () -> employeeRepository.existsByEmail("plan1@example.com"));
+		queries.put("findByAppUserId", () -> employeeRepository.findByAppUserId(userIds.get(0)));
+		queries.put("findDetailById", () -> employeeRepository.findDetailById(ids.get(0)));
+		queries.put("findExistingEmails",
+				() -> employeeRepository.findExistingEmails(List.of("plan1@example.com", "plan2@example.com")));
+		queries.put("findSnapshotsByIdIn", () -> employeeRepository.findSnapshotsByIdIn(someIds));
+		queries.put("findSalariedSnapshotsByDepartment",
+				() -> employeeRepository.findSalariedSnapshotsByDepartment("Department1"));
+		queries.put("moveToDepartment", () -> employeeRepository.moveToDepartment(someIds, "Department2"));
+		queries.put("scaleSalaries", () -> employeeRepository.scaleSalaries("Department1", 1.1));
+		queries.put("findUserIdsByIdIn", () -> employeeRepository.findUserIdsByIdIn(someIds));
+		queries.put("deleteByIdIn", () -> {
+			employeeRepository.deleteByIdIn(someIds);
+			userRepository.deleteByIdIn(someUserIds);
+		});
+		queries.put("streamJoinedBetweenForExport", () -> {
+			try (Stream<EmployeeExportRow> joiners = employeeRepository.streamJoinedBetweenForExport(LocalDate.of(2020, 2, 1),
+					LocalDate.of(2020, 3, 1))) {
+				joiners.count();
+			}
+		});
+		queries.put("findByUsername", () -> userRepository.findByUsername("plan1@example.com"));
+		queries.put("findExistingUsernames",
+				() -> userRepository.findExistingUsernames(List.of("plan1@example.com", "plan2@example.com")));
+		queries.put("findByStatusIn",
+				() -> reportJobRepository.findByStatusIn(List.of(ReportJob.Status.QUEUED, ReportJob.Status.RUNNING)));
+		queries.put("findFinishedBefore", () -> reportJobRepository.findFinishedBefore(Instant.now()));
+		queries.put("findTop100ByOrderByIdDesc", () -> reportJobRepository.findTop100ByOrderByIdDesc());
+		return queries;
+	}
+
+	// Statements run in a transaction that is rolled back, so the data stays as seeded
+	private void assertIndexed(Runnable query) {
+		evictCaches(entityManagerFactory);
+		List<String> sql = transactions.execute(status -> {
+			status.setRollbackOnly();
+			statements.record();
+			try {
+				query.run();
+				return statements.recorded();
+			} finally {
+				statements.stop();
+			}
+		});
+
+		assertThat(sql).isNotEmpty();
+		for (String statement : sql) {
+			String plan = String.join("\n", jdbc.query(connection -> connection.prepareStatement("EXPLAIN " + statement),
+					(row, rowNum) -> row.getString(1)));
+			assertThat(plan).as("plan of %s", statement).doesNotContainIgnoringCase("tableScan");
+		}
+	}
+
+	private static EmployeeQuery listing(EmployeeSortField sort, boolean descending, String department,
+			Double minSalary, Double maxSalary, LocalDate joinedFrom, LocalDate joinedTo) {
+		return new EmployeeQuery(sort, descending, null, 5, department, minSalary, maxSalary, joinedFrom, joinedTo);
+	}
+}
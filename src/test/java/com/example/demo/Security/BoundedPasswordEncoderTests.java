@@ -0,0 +1,26 @@
+package com.example.demo.Security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedPasswordEncoderTests {
+
+	@Test
+	void timedOutHashesAreDequeuedOrCountedAsAbandoned() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		// Strength 14 takes far longer than the 50 ms wait, so the first hash is still running when the
+		// second one times out in the queue behind it
+		try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(14, 1, 1, 50, meterRegistry)) {
+			assertThatThrownBy(() -> encoder.encode("first")).isInstanceOf(PasswordHashingBusyException.class);
+			assertThatThrownBy(() -> encoder.encode("second")).isInstanceOf(PasswordHashingBusyException.class);
+
+			assertThat(meterRegistry.get("security.password.abandoned").counter().count()).isEqualTo(1);
+			assertThat(meterRegistry.get("security.password.rejected").counter().count()).isEqualTo(2);
+			assertThat(meterRegistry.get("security.password.queue.depth").gauge().value()).isZero();
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.example.demo.Security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.demo.Model.Role;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtFilterTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private TokenVersionRegistry tokenVersions;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void authenticatesFromClaimsWithoutQueries() throws Exception {
+		String token = jwtUtil.generateToken("claims@example.com", 4242L, Role.ADMIN, null,
+				tokenVersions.current(4242L));
+
+		statistics.clear();
+		// Unmapped route: authentication succeeds and the request ends in a 404 without touching the database
+		mockMvc.perform(get("/api/no-such-route").header("Authorization", "Bearer " + token))
+				.andExpect(status().isNotFound());
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void rejectsTokensMintedBeforeRevocation() throws Exception {
+		String token = jwtUtil.generateToken("revoked@example.com", 4343L, Role.EMPLOYEE, 1L,
+				tokenVersions.current(4343L));
+		tokenVersions.revoke(4343L);
+
+		mockMvc.perform(get("/api/no-such-route").header("Authorization", "Bearer " + token))
+				.andExpect(status().isForbidden());
+	}
+}
@@ -0,0 +1,75 @@
+package com.example.demo.Security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = {
+		"security.login.rate-limit.per-address.capacity=3",
+		"security.login.rate-limit.per-username.capacity=2" })
+@AutoConfigureMockMvc
+class LoginRateLimitFilterTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void throttlesOneUsernameAcrossAddresses() throws Exception {
+		mockMvc.perform(login("10.0.0.1", "target@example.com")).andExpect(notThrottled());
+		mockMvc.perform(login("10.0.0.2", "target@example.com")).andExpect(notThrottled());
+
+		double hashes = passwordChecks();
+		mockMvc.perform(login("10.0.0.3", "target@example.com"))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().exists("Retry-After"));
+		assertThat(passwordChecks()).isEqualTo(hashes);
+	}
+
+	@Test
+	void throttlesOneAddressAcrossUsernames() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(login("10.0.1.1", "spray" + i + "@example.com")).andExpect(notThrottled());
+		}
+		mockMvc.perform(login("10.0.1.1", "spray3@example.com")).andExpect(status().isTooManyRequests());
+
+		// The bucket is per address: another client is unaffected, and the admin still gets in
+		mockMvc.perform(login("10.0.1.2", "spray4@example.com")).andExpect(notThrottled());
+		mockMvc.perform(post("/api/auth/login").with(request -> {
+			request.setRemoteAddr("10.0.1.3");
+			return request;
+		}).contentType(MediaType.APPLICATION_JSON).content("{\"username\":\"admin\",\"password\":\"123\"}"))
+				.andExpect(status().isOk());
+	}
+
+	private static MockHttpServletRequestBuilder login(String address, String username) {
+		return post("/api/auth/login").with(request -> {
+			request.setRemoteAddr(address);
+			return request;
+		}).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"" + username + "\",\"password\":\"wrong-password\"}");
+	}
+
+	// Wrong passwords are rejected further down the chain; only the limiter answers 429
+	private static ResultMatcher notThrottled() {
+		return result -> assertThat(result.getResponse().getStatus()).isNotEqualTo(429);
+	}
+
+	private double passwordChecks() {
+		return meterRegistry.get("security.password.hash").tag("operation", "matches").timer().count();
+	}
+}
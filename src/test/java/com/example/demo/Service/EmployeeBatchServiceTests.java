@@ -0,0 +1,122 @@
+package com.example.demo.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.demo.Config.SqlStatementCounter;
+import com.example.demo.Model.AppUser;
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.EmployeeBatchResult;
+import com.example.demo.Model.EmployeeBatchResult.Outcome;
+import com.example.demo.Model.Role;
+import com.example.demo.Repository.EmployeeRepository;
+import com.example.demo.Repository.UserRepository;
+
+@SpringBootTest
+class EmployeeBatchServiceTests {
+
+	private static final int EMPLOYEES = 300;
+
+	@Autowired
+	private EmployeeBatchService batchService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private SqlStatementCounter statements;
+
+	@Test
+	void movesEmployeesWithOneUpdate() {
+		List<Long> ids = seed("Reorg", "Sales");
+		employeeService.updateEmployee(ids.get(0), copy(ids.get(0), "Platform"));
+		ids.add(-1L);
+
+		statements.start();
+		EmployeeBatchResult result = batchService.moveToDepartment(ids, "Platform");
+		// Before images, then the bulk UPDATE
+		assertThat(statements.stop()).isEqualTo(2);
+
+		assertThat(result.affected()).isEqualTo(EMPLOYEES - 1);
+		assertThat(result.outcomes().get(ids.get(0))).isEqualTo(Outcome.UNCHANGED);
+		assertThat(result.outcomes().get(ids.get(1))).isEqualTo(Outcome.UPDATED);
+		assertThat(result.outcomes().get(-1L)).isEqualTo(Outcome.NOT_FOUND);
+		assertThat(employeeRepository.findSnapshotsByIdIn(ids)).allSatisfy(
+				employee -> assertThat(employee.department()).isEqualTo("Platform"));
+		assertThat(employeeService.getEmployeeById(ids.get(1))).get().extracting(Employee::getVersion).isEqualTo(1L);
+	}
+
+	@Test
+	void adjustsSalariesOfOneDepartment() {
+		List<Long> ids = seed("Raise", "Treasury");
+
+		EmployeeBatchResult result = batchService.adjustSalaries("Treasury", 10.0);
+
+		assertThat(result.affected()).isEqualTo(EMPLOYEES);
+		assertThat(result.outcomes()).containsOnlyKeys(ids);
+		assertThat(employeeService.getEmployeeById(ids.get(0))).get().extracting(Employee::getSalary)
+				.isEqualTo(1000.0 * 1.1);
+		assertThatThrownBy(() -> batchService.adjustSalaries("Treasury", -100.0))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void deletesEmployeesAndTheirLogins() {
+		List<Long> ids = seed("Layoff", "Legal");
+		List<Long> userIds = employeeRepository.findUserIdsByIdIn(ids);
+
+		statements.start();
+		EmployeeBatchResult result = batchService.delete(ids);
+		// Before images, linked user ids, DELETE employees, DELETE users
+		assertThat(statements.stop()).isEqualTo(4);
+
+		assertThat(result.affected()).isEqualTo(EMPLOYEES);
+		assertThat(result.outcomes().values()).containsOnly(Outcome.DELETED);
+		assertThat(employeeRepository.findSnapshotsByIdIn(ids)).isEmpty();
+		assertThat(userRepository.findAllById(userIds)).isEmpty();
+	}
+
+	@Test
+	void singleDeleteRemovesTheLoginToo() {
+		Long id = seed("Single", "Legal").get(0);
+		Long userId = employeeRepository.findUserIdsByIdIn(List.of(id)).get(0);
+
+		employeeService.deleteEmployee(id);
+
+		assertThat(userRepository.findById(userId)).isEmpty();
+	}
+
+	private List<Long> seed(String prefix, String department) {
+		List<Long> ids = new ArrayList<>();
+		String run = prefix.toLowerCase() + System.nanoTime();
+		for (int i = 0; i < EMPLOYEES; i++) {
+			AppUser user = new AppUser(run + "-" + i + "@example.com", "not-a-real-hash");
+			user.setRole(Role.EMPLOYEE);
+			Employee employee = new Employee(prefix, "Batch" + i, user.getUsername(), 1000.0, department,
+					LocalDate.of(2024, 1, 1));
+			employee.setAppUser(userRepository.save(user));
+			ids.add(employeeService.createEmployee(employee).getId());
+		}
+		return ids;
+	}
+
+	private Employee copy(Long id, String department) {
+		Employee current = employeeService.getEmployeeById(id).orElseThrow();
+		return new Employee(current.getFirstName(), current.getLastName(), current.getEmail(), current.getSalary(),
+				department, current.getJoiningDate());
+	}
+}
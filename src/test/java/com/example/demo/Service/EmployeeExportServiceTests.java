@@ -0,0 +1,54 @@
+package com.example.demo.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.demo.Config.SqlStatementCounter;
+import com.example.demo.Model.AppUser;
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.EmployeeFileFormat;
+import com.example.demo.Model.Role;
+import com.example.demo.Repository.UserRepository;
+
+@SpringBootTest
+class EmployeeExportServiceTests {
+
+	@Autowired
+	private EmployeeExportService exportService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private SqlStatementCounter statements;
+
+	@Test
+	void exportsEmployeeColumnsWithOneQueryAndNoUserReads() throws Exception {
+		String username = "exported-" + System.nanoTime() + "@example.com";
+		AppUser user = new AppUser(username, AppUser.NO_PASSWORD);
+		user.setRole(Role.EMPLOYEE);
+		Employee employee = new Employee("Exported", "Row", username, 1234.5, "Export, Ltd", LocalDate.of(2024, 1, 15));
+		employee.setAppUser(userRepository.save(user));
+		employee = employeeService.createEmployee(employee);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		statements.record();
+		long rows = exportService.export(EmployeeFileFormat.CSV, out);
+		assertThat(statements.recorded()).hasSize(1).noneMatch(sql -> sql.contains("users"));
+		statements.stop();
+
+		assertThat(rows).isPositive();
+		assertThat(out.toString(StandardCharsets.UTF_8)).startsWith(EmployeeFileFormat.CSV_HEADER + "\n")
+				.contains(employee.getId() + ",Exported,Row," + username + ",1234.5,\"Export, Ltd\",2024-01-15\n");
+	}
+}
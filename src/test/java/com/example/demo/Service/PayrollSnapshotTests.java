@@ -0,0 +1,101 @@
+package com.example.demo.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.Model.PayrollQuery;
+import com.example.demo.Model.PayrollQuery.Dimension;
+import com.example.demo.Model.PayrollReport;
+
+class PayrollSnapshotTests {
+
+	private static final LocalDate AS_OF = LocalDate.of(2025, 6, 30);
+
+	@Test
+	void countsCompletedYearsOnTheAnniversary() {
+		PayrollSnapshot snapshot = new PayrollSnapshot.Builder()
+				.add(50_000.0, "Finance", LocalDate.of(2023, 6, 30))
+				.add(60_000.0, "Finance", LocalDate.of(2023, 7, 1))
+				.add(null, "Finance", null)
+				.build(Instant.now());
+
+		PayrollReport report = snapshot.report(query(null, EnumSet.of(Dimension.TENURE)));
+
+		assertThat(report.groups()).extracting(PayrollReport.Group::tenureYears, PayrollReport.Group::headcount)
+				.containsExactly(tuple(1, 1L), tuple(2, 1L), tuple(null, 1L));
+	}
+
+	@Test
+	void crossTabulatesDepartmentsAndSalaryBands() {
+		PayrollSnapshot snapshot = new PayrollSnapshot.Builder()
+				.add(15_000.0, "Sales", LocalDate.of(2020, 1, 1))
+				.add(19_999.0, "Sales", LocalDate.of(2020, 1, 1))
+				.add(20_000.0, "Sales", LocalDate.of(2020, 1, 1))
+				.add(null, "Sales", LocalDate.of(2020, 1, 1))
+				.add(5_000.0, "HR", LocalDate.of(2020, 1, 1))
+				.build(Instant.now());
+
+		PayrollReport report = snapshot.report(query(null, EnumSet.of(Dimension.DEPARTMENT, Dimension.SALARY_BAND)));
+
+		assertThat(report.matchedRows()).isEqualTo(5);
+		assertThat(report.groups()).hasSize(4);
+		PayrollReport.Group hr = report.groups().get(0);
+		assertThat(hr.department()).isEqualTo("HR");
+		assertThat(hr.salaryFrom()).isEqualTo(0.0);
+		PayrollReport.Group band = report.groups().get(1);
+		assertThat(band.department()).isEqualTo("Sales");
+		assertThat(band.salaryFrom()).isEqualTo(10_000.0);
+		assertThat(band.headcount()).isEqualTo(2);
+		assertThat(band.meanSalary()).isEqualTo(17_499.5);
+		PayrollReport.Group unpaid = report.groups().get(3);
+		assertThat(unpaid.salaryFrom()).isNull();
+		assertThat(unpaid.salaryCount()).isZero();
+	}
+
+	@Test
+	void parallelScanMatchesARowByRowCount() {
+		PayrollSnapshot.Builder builder = new PayrollSnapshot.Builder();
+		String[] departments = { "Engineering", "Finance", "Sales" };
+		long expectedHeadcount = 0;
+		double expectedSum = 0;
+		for (int i = 0; i < 500_000; i++) {
+			double salary = 30_000 + i % 90_000;
+			String department = departments[i % departments.length];
+			LocalDate joined = LocalDate.of(2000, 1, 1).plusDays(i % 9000);
+			builder.add(salary, department, joined);
+			if (department.equals("Finance") && salary >= 50_000 && joined.isBefore(LocalDate.of(2010, 1, 1))) {
+				expectedHeadcount++;
+				expectedSum += salary;
+			}
+		}
+		PayrollSnapshot snapshot = builder.build(Instant.now());
+
+		PayrollReport report = snapshot.report(new PayrollQuery("Finance", 50_000.0, null, null,
+				LocalDate.of(2009, 12, 31), Set.of(), 10_000, AS_OF));
+
+		assertThat(report.scannedRows()).isEqualTo(500_000);
+		assertThat(report.groups()).hasSize(1);
+		assertThat(report.groups().get(0).headcount()).isEqualTo(expectedHeadcount);
+		assertThat(report.groups().get(0).salarySum()).isEqualTo(expectedSum);
+	}
+
+	@Test
+	void rejectsReportsWithTooManyGroups() {
+		PayrollSnapshot snapshot = new PayrollSnapshot.Builder().add(1_000_000.0, "Sales", AS_OF).build(Instant.now());
+
+		assertThatThrownBy(() -> snapshot.report(new PayrollQuery(null, null, null, null, null,
+				EnumSet.of(Dimension.SALARY_BAND), 1, AS_OF))).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static PayrollQuery query(String department, Set<Dimension> groupBy) {
+		return new PayrollQuery(department, null, null, null, null, groupBy, 10_000, AS_OF);
+	}
+}
@@ -0,0 +1,46 @@
+package com.example.demo.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.demo.Model.Employee;
+import com.example.demo.Model.SalaryStats;
+
+@SpringBootTest
+class SalaryStatsServiceTests {
+
+	@Autowired
+	private SalaryStatsService salaryStatsService;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Test
+	void keepsADepartmentNamedLikeTheOldSentinelAndSurvivesARebuild() {
+		employeeService.createEmployee(new Employee("Named", "Unassigned", "named-unassigned-" + System.nanoTime()
+				+ "@example.com", 4200.0, "(unassigned)", LocalDate.of(2021, 1, 1)));
+		Employee moved = employeeService.createEmployee(new Employee("Moved", "Later", "moved-later-"
+				+ System.nanoTime() + "@example.com", 4300.0, "Stats", LocalDate.of(2021, 1, 1)));
+		moved.setDepartment("(unassigned)");
+		employeeService.updateEmployee(moved.getId(), moved);
+
+		Map<String, Long> incremental = headcounts();
+		assertThat(incremental.get("(unassigned)")).isGreaterThanOrEqualTo(2L);
+
+		salaryStatsService.rebuild();
+
+		assertThat(headcounts()).isEqualTo(incremental);
+	}
+
+	private Map<String, Long> headcounts() {
+		return salaryStatsService.report().departments().stream()
+				.collect(Collectors.toMap(SalaryStats::department, SalaryStats::headcount));
+	}
+}